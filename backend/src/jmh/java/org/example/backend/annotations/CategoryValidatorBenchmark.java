@@ -0,0 +1,35 @@
+package org.example.backend.annotations;
+
+import org.example.backend.dtos.ProductRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates a category the way {@code @ValidProductCategory} on {@link ProductRequest} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryValidatorBenchmark {
+
+    @Param({"BOOKS", "AUTOMOTIVE", "UNKNOWN"})
+    public String category;
+
+    private CategoryValidator categoryValidator;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        categoryValidator = new CategoryValidator();
+        categoryValidator.initialize(ProductRequest.class.getDeclaredField("category")
+                .getAnnotation(ValidProductCategory.class));
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return categoryValidator.isValid(category, null);
+    }
+}
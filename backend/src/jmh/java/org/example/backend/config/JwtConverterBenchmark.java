@@ -0,0 +1,57 @@
+package org.example.backend.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares deriving authorities for every request with the cached path in {@link JwtConverter}.
+ * Run with {@code gradle jmh}; the gc profiler reports {@code gc.alloc.rate.norm} (bytes per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtConverterBenchmark {
+
+    private JwtConverter jwtConverter;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        jwtConverter = new JwtConverter("preferred_username", "quantum-stock-backend", 10_000);
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("benchmark-token")
+                .header("alg", "RS256")
+                .jti(UUID.randomUUID().toString())
+                .subject(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim("preferred_username", "admin")
+                .claim("scope", "openid profile email")
+                .claim("resource_access", Map.of(
+                        "quantum-stock-backend", Map.of("roles", List.of("role_admin", "role_employee")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken uncached() {
+        JwtConverter.ResolvedToken resolved = jwtConverter.resolve(jwt);
+        return new JwtAuthenticationToken(jwt, resolved.authorities(), resolved.principal());
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cached() {
+        return jwtConverter.convert(jwt);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.backend.dtos;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.example.backend.enums.Category;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a listing page of {@link ProductResponse}s to JSON, as returned by {@code GET /api/v1/products/all}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginatedResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private PaginatedResponse<ProductResponse> response;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().findAndAddModules().build().writer();
+        Category[] categories = Category.values();
+        List<ProductResponse> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new ProductResponse((long) i, "Product " + i, "Description of product " + i,
+                    categories[i % categories.length].name(), BigDecimal.valueOf(1000 + i, 2), i, 10, 1L));
+        }
+        response = new PaginatedResponse<>(content, new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.dtos;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.backend.enums.Category;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings offered on the listing endpoints for a page of {@link ProductResponse}s: serialization
+ * and parsing CPU, and the size of the encoded page with and without gzip (printed once per fork).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private PaginatedResponse<ProductResponse> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new Jackson2ObjectMapperBuilder().factory(factory).build();
+        type = mapper.getTypeFactory().constructParametricType(PaginatedResponse.class, ProductResponse.class);
+
+        Category[] categories = Category.values();
+        List<ProductResponse> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new ProductResponse((long) i, "Product " + i, "Description of product " + i,
+                    categories[i % categories.length].name(), BigDecimal.valueOf(1000 + i, 2), i, 10, 1L));
+        }
+        response = new PaginatedResponse<>(content, new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+        encoded = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s page of %d: %d bytes, %d bytes gzipped%n",
+                format, pageSize, encoded.length, gzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws Exception {
+        return gzip();
+    }
+
+    @Benchmark
+    public Object deserialize() throws Exception {
+        return mapper.readValue(encoded, type);
+    }
+
+    private byte[] gzip() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            mapper.writeValue(gzip, response);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.backend.indexes;
+
+import org.example.backend.dtos.InventoryAggregatesResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the inventory aggregates from the running totals, and applies one stock update to them. Neither depends
+ * on the catalog size: the repository is only consulted by the (empty) initial load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryAggregatesBenchmark {
+
+    private InventoryAggregates inventoryAggregates;
+    private Product previous;
+    private Product current;
+
+    @Setup
+    public void setUp() {
+        ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> List.of());
+        inventoryAggregates = new InventoryAggregates(productRepository);
+        inventoryAggregates.rebuild();
+
+        Category[] categories = Category.values();
+        for (int i = 0; i < 10_000; i++) {
+            inventoryAggregates.onCreated(Product.builder()
+                    .id((long) i)
+                    .category(categories[i % categories.length])
+                    .price(BigDecimal.valueOf(1000 + i, 2))
+                    .quantity(i % 50)
+                    .minQuantity(10)
+                    .build());
+        }
+        previous = Product.builder().id(1L).category(categories[1]).price(new BigDecimal("10.01")).quantity(1).minQuantity(10).build();
+        current = previous.toBuilder().quantity(2).build();
+    }
+
+    @Benchmark
+    public InventoryAggregatesResponse aggregates() {
+        return inventoryAggregates.aggregates();
+    }
+
+    @Benchmark
+    public void update() {
+        inventoryAggregates.onUpdated(previous, current);
+        inventoryAggregates.onUpdated(current, previous);
+    }
+}
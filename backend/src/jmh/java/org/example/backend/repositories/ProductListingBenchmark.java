@@ -0,0 +1,137 @@
+package org.example.backend.repositories;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import jakarta.persistence.EntityManager;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.mappers.ProductMapper;
+import org.example.backend.models.Product;
+import org.example.backend.specifications.ProductSpecifications;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reads one listing page from an embedded MariaDB as entities mapped to {@link ProductResponse}s, versus
+ * {@link ProductResponse}s selected directly. Both run in the read-only transaction the listings use, so the
+ * difference is the projection alone. The default page size (20) is what most listing requests ask for. The gc
+ * profiler's {@code gc.alloc.rate.norm} is the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private DB database;
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private Field entityManagerField;
+    private final ProductRepositoryCustomImpl repository = new ProductRepositoryCustomImpl();
+    private final ProductMapper productMapper = new ProductMapper();
+    private final Specification<Product> spec =
+            ProductSpecifications.buildSpecification(new ProductFilter(null, null, null, null, null, null, null));
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() throws Exception {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder().setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            builder.addArg("--user=root");
+        }
+        DBConfiguration configuration = builder.build();
+        database = DB.newEmbeddedDB(configuration);
+        database.start();
+        database.createDB("quantum_stock");
+
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:mysql://localhost:" + configuration.getPort() + "/quantum_stock")
+                .applySetting("hibernate.connection.username", "root")
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.MySQLDialect")
+                .applySetting("hibernate.hbm2ddl.auto", "create")
+                // hibernate-jcache would otherwise start a default second-level cache that only the entity side uses
+                .applySetting("hibernate.cache.use_second_level_cache", "false")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Product.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        Category[] categories = Category.values();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < 1000; i++) {
+                session.persist(Product.builder()
+                        .name("Product " + i)
+                        .description("Description of product " + i)
+                        .category(categories[i % categories.length])
+                        .price(BigDecimal.valueOf(1000 + i, 2))
+                        .quantity(i % 50)
+                        .minQuantity(10)
+                        .build());
+            }
+        });
+
+        entityManagerField = ProductRepositoryCustomImpl.class.getDeclaredField("entityManager");
+        entityManagerField.setAccessible(true);
+        pageable = PageRequest.of(3, pageSize, Sort.by("price"));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        database.stop();
+    }
+
+    @Benchmark
+    public List<ProductResponse> managedEntities() throws Exception {
+        return readOnly(() -> repository.findSlice(spec, pageable).stream()
+                .map(productMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponse> readOnlyProjection() throws Exception {
+        return readOnly(() -> repository.findResponseSlice(spec, pageable).getContent());
+    }
+
+    // What @Transactional(readOnly = true) sets up through Spring's HibernateJpaDialect
+    private List<ProductResponse> readOnly(Supplier<List<ProductResponse>> query) throws IllegalAccessException {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            use(session);
+            Transaction transaction = session.beginTransaction();
+            List<ProductResponse> page = query.get();
+            transaction.commit();
+            return page;
+        }
+    }
+
+    private void use(EntityManager entityManager) throws IllegalAccessException {
+        entityManagerField.set(repository, entityManager);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.backend.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.models.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the listing predicate for typical filters. Hibernate is bootstrapped with the MySQL dialect but
+ * without a database, so only the specification and criteria tree construction are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSpecificationsBenchmark {
+
+    @Param({"empty", "category", "categoryAndPrice", "search"})
+    public String filter;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private ProductFilter productFilter;
+
+    @Setup
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.MySQLDialect")
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .applySetting("hibernate.hbm2ddl.auto", "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Product.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        productFilter = switch (filter) {
+            case "category" -> new ProductFilter(null, null, "ELECTRONICS", null, null, null, null);
+            case "categoryAndPrice" -> new ProductFilter(null, null, "ELECTRONICS",
+                    new BigDecimal("10.00"), new BigDecimal("250.00"), null, null);
+            case "search" -> new ProductFilter(null, null, null, null, null, "wireless noise cancelling", null);
+            default -> new ProductFilter(null, null, null, null, null, null, null);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public Predicate buildSpecification() {
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        return ProductSpecifications.buildSpecification(productFilter).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -2,15 +2,31 @@ package org.example.backend.api;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.BatchResponse;
+import org.example.backend.dtos.ImportReport;
+import org.example.backend.dtos.PaginatedResponse;
 import org.example.backend.dtos.ProductFilter;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.dtos.StockAdjustmentRequest;
+import org.example.backend.enums.ProductDataFormat;
 import org.example.backend.models.Product;
+import org.example.backend.services.ProductBatchService;
+import org.example.backend.services.ProductExportService;
+import org.example.backend.services.ProductImportService;
 import org.example.backend.services.ProductService;
-import org.springframework.data.domain.Page;
+import org.example.backend.util.ProductCursor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,10 +35,56 @@ import java.util.List;
 @PreAuthorize("hasRole('role_admin')")
 public class ProductIntegrationController {
     private final ProductService productService;
+    private final ProductBatchService productBatchService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
 
     @GetMapping("/all")
-    public ResponseEntity<List<Product>> getAllProducts(ProductFilter filters, Pageable pageable) {
-        return ResponseEntity.ok(productService.getAllProducts(filters, pageable));
+    public ResponseEntity<PaginatedResponse<ProductResponse>> getAllProducts(ProductFilter filters, Pageable pageable,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "true") boolean withTotal) {
+        if (cursor != null) {
+            ProductCursor position = ProductCursor.decode(cursor, pageable.getSort());
+            Slice<ProductResponse> products = productService.getProductsAfter(filters, position, pageable.getPageSize());
+            String nextCursor = products.hasNext() ? position.next(products.getContent().getLast()).encode() : null;
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(new PaginatedResponse<>(products.getContent(), products, nextCursor));
+        }
+
+        Slice<ProductResponse> products = productService.getAllProducts(filters, pageable, withTotal);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(new PaginatedResponse<>(products.getContent(), products));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(ProductFilter filters,
+                                                        @RequestParam(defaultValue = "NDJSON") ProductDataFormat format) {
+        StreamingResponseBody body = outputStream -> productExportService.export(filters, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                       InputStream body) throws IOException {
+        ProductDataFormat format = ProductDataFormat.forMediaType(contentType).orElseThrow();
+        return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
+        Product product = productService.getProduct(id);
+        if (product != null) {
+            return ResponseEntity.ok(product);
+        }
+        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/create")
@@ -39,6 +101,24 @@ public class ProductIntegrationController {
         return ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/stock/increment/{id}")
+    public ResponseEntity<Product> incrementStock(@PathVariable Long id, @RequestBody @Valid StockAdjustmentRequest adjustment) {
+        return adjustStock(id, adjustment.amount());
+    }
+
+    @PostMapping("/stock/decrement/{id}")
+    public ResponseEntity<Product> decrementStock(@PathVariable Long id, @RequestBody @Valid StockAdjustmentRequest adjustment) {
+        return adjustStock(id, -adjustment.amount());
+    }
+
+    private ResponseEntity<Product> adjustStock(Long id, int delta) {
+        Product adjustedProduct = productService.adjustStock(id, delta);
+        if (adjustedProduct != null) {
+            return ResponseEntity.ok(adjustedProduct);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Product> delete(@PathVariable Long id) {
         Product deletedProduct = productService.delete(id);
@@ -47,4 +127,19 @@ public class ProductIntegrationController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    @PostMapping("/batch/create")
+    public ResponseEntity<BatchResponse> createAll(@RequestBody List<Product> products) {
+        return ResponseEntity.ok(productBatchService.createAll(products));
+    }
+
+    @PutMapping("/batch/update")
+    public ResponseEntity<BatchResponse> updateAll(@RequestBody List<Product> products) {
+        return ResponseEntity.ok(productBatchService.updateAll(products));
+    }
+
+    @DeleteMapping("/batch/delete")
+    public ResponseEntity<BatchResponse> deleteAll(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productBatchService.deleteAll(ids));
+    }
 }
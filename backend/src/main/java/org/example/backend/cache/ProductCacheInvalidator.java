@@ -0,0 +1,66 @@
+package org.example.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.example.backend.indexes.ProductChangeListener;
+import org.example.backend.models.Product;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+import static org.example.backend.config.CacheConfig.PRODUCTS_CACHE;
+import static org.example.backend.config.CacheConfig.PRODUCT_PAGES_CACHE;
+
+/**
+ * Replaces the cached product with its newest version on update and evicts it on delete. Evicts only those cached
+ * pages whose filter matches the product before or after the write; pages of unrelated filters cannot have changed.
+ */
+@Component
+public class ProductCacheInvalidator implements ProductChangeListener {
+    private final Cache<Object, Object> products;
+    private final Cache<Object, Object> productPages;
+
+    public ProductCacheInvalidator(CacheManager cacheManager) {
+        this.products = nativeCache(cacheManager, PRODUCTS_CACHE);
+        this.productPages = nativeCache(cacheManager, PRODUCT_PAGES_CACHE);
+    }
+
+    /**
+     * Caches the product unless a newer version of it is already cached, and returns whichever is cached.
+     */
+    public Product remember(Product product) {
+        return (Product) products.asMap().merge(product.getId(), product, ProductCacheInvalidator::newer);
+    }
+
+    @Override
+    public void onCreated(Product product) {
+        evictPages(product, product);
+    }
+
+    @Override
+    public void onUpdated(Product previous, Product current) {
+        remember(current);
+        evictPages(previous, current);
+    }
+
+    @Override
+    public void onDeleted(Product product) {
+        products.invalidate(product.getId());
+        evictPages(product, product);
+    }
+
+    private void evictPages(Product previous, Product current) {
+        productPages.asMap().keySet().removeIf(key -> key instanceof ProductPageKey pageKey
+                && (pageKey.filters().matches(previous) || pageKey.filters().matches(current)));
+    }
+
+    private static Object newer(Object cached, Object updated) {
+        return ((Product) updated).getVersion() > ((Product) cached).getVersion() ? updated : cached;
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        CaffeineCache cache = (CaffeineCache) Objects.requireNonNull(cacheManager.getCache(name));
+        return cache.getNativeCache();
+    }
+}
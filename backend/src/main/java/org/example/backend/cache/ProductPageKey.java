@@ -0,0 +1,7 @@
+package org.example.backend.cache;
+
+import org.example.backend.dtos.ProductFilter;
+import org.springframework.data.domain.Pageable;
+
+public record ProductPageKey(ProductFilter filters, Pageable pageable, boolean withTotal) {
+}
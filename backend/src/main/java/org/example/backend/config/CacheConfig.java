@@ -0,0 +1,62 @@
+package org.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.backend.cache.ProductPageKey;
+import org.example.backend.dtos.ProductFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_PAGES_CACHE = "productPages";
+    public static final String KEYCLOAK_CLIENT_ROLES_CACHE = "keycloakClientRoles";
+    public static final String KEYCLOAK_USERS_CACHE = "keycloakUsers";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${products.cache.by-id.maximum-size}") long byIdMaximumSize,
+                                     @Value("${products.cache.by-id.time-to-live}") Duration byIdTimeToLive,
+                                     @Value("${products.cache.pages.maximum-size}") long pagesMaximumSize,
+                                     @Value("${products.cache.pages.time-to-live}") Duration pagesTimeToLive,
+                                     @Value("${keycloak.cache.client-roles.time-to-live}") Duration clientRolesTimeToLive,
+                                     @Value("${keycloak.cache.users.maximum-size}") long usersMaximumSize,
+                                     @Value("${keycloak.cache.users.time-to-live}") Duration usersTimeToLive) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(byIdMaximumSize)
+                .expireAfterWrite(byIdTimeToLive)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCT_PAGES_CACHE, Caffeine.newBuilder()
+                .maximumSize(pagesMaximumSize)
+                .expireAfterWrite(pagesTimeToLive)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(KEYCLOAK_CLIENT_ROLES_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(clientRolesTimeToLive)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(KEYCLOAK_USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(usersMaximumSize)
+                .expireAfterWrite(usersTimeToLive)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    @Bean
+    public KeyGenerator productPageKeyGenerator() {
+        return (target, method, params) -> new ProductPageKey((ProductFilter) params[0], (Pageable) params[1], (boolean) params[2]);
+    }
+}
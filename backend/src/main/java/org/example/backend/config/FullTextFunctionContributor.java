@@ -0,0 +1,25 @@
+package org.example.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes MySQL {@code MATCH ... AGAINST} in boolean mode to criteria queries. The column list passed
+ * must match one of the FULLTEXT indexes declared in the migrations.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST_2 = "match_against_2";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> relevance = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        functionContributions.getFunctionRegistry()
+                .registerPattern(MATCH_AGAINST_2, "match(?1, ?2) against(?3 in boolean mode)", relevance);
+    }
+}
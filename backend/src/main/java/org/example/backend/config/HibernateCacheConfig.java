@@ -0,0 +1,58 @@
+package org.example.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level and query cache regions for Hibernate, kept in this JVM by Caffeine's JCache provider. The regions
+ * are created here, sized and timed by {@code products.hibernate-cache.*}, and handed to Hibernate ready-made.
+ * The update timestamps region is never bounded: evicting from it could serve stale query results.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String PRODUCT_QUERIES_REGION = "productQueries";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${products.hibernate-cache.entities.maximum-size}") long entitiesMaximumSize,
+                                              @Value("${products.hibernate-cache.entities.time-to-live}") Duration entitiesTimeToLive,
+                                              @Value("${products.hibernate-cache.queries.maximum-size}") long queriesMaximumSize,
+                                              @Value("${products.hibernate-cache.queries.time-to-live}") Duration queriesTimeToLive) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate"), provider.getDefaultClassLoader());
+        cacheManager.createCache(PRODUCT_REGION, region(entitiesMaximumSize, entitiesTimeToLive));
+        cacheManager.createCache(PRODUCT_QUERIES_REGION, region(queriesMaximumSize, queriesTimeToLive));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores its own disassembled copies, so JCache's copy-on-read/write would only add serialization
+        configuration.setStoreByValue(false);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -1,18 +1,33 @@
 package org.example.backend.config;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.backend.dtos.KeycloakUserRequest;
 import org.example.backend.services.KeycloakService;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Makes sure the admin user exists. Runs on the scheduler rather than during startup, so the application
+ * comes up while Keycloak is unavailable and the user is created once it becomes reachable.
+ */
+@Slf4j
 @Component
-@AllArgsConstructor
-public class InitAdmin implements CommandLineRunner {
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "keycloak.init-admin.enabled", havingValue = "true", matchIfMissing = true)
+public class InitAdmin {
     private final KeycloakService keycloakService;
 
-    @Override
-    public void run(String... args) {
+    private volatile boolean initialized;
+
+    @Scheduled(fixedDelayString = "${keycloak.init-admin.retry-interval:PT30S}")
+    public void run() {
+        if (initialized) {
+            return;
+        }
+
         KeycloakUserRequest adminUser = new KeycloakUserRequest(
                 "admin",
                 "admin",
@@ -22,6 +37,11 @@ public class InitAdmin implements CommandLineRunner {
                 "role_admin"
         );
 
-        keycloakService.createUser(adminUser);
+        try {
+            int status = keycloakService.createUser(adminUser);
+            initialized = status == HttpStatus.CREATED.value() || status == HttpStatus.CONFLICT.value();
+        } catch (RuntimeException ex) {
+            log.warn("Could not create the admin user, retrying later: {}", ex.getMessage());
+        }
     }
 }
@@ -1,5 +1,8 @@
 package org.example.backend.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
@@ -12,36 +15,59 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Clients reuse an access token for several minutes, so the authorities and principal derived from it are
+ * cached until the token expires. The key is the token's {@code jti} (the token has already been verified
+ * at this point), or the raw token when it has none.
+ */
 @Component
 public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
     private final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter =
             new JwtGrantedAuthoritiesConverter();
 
-    @Value("${jwt.auth.converter.principle-attribute}")
-    private String principleAttribute;
-    @Value("${jwt.auth.converter.resource-id}")
-    private String resourceId;
+    private final String principleAttribute;
+    private final String resourceId;
+    private final Cache<String, ResolvedToken> resolvedTokens;
+
+    public JwtConverter(@Value("${jwt.auth.converter.principle-attribute}") String principleAttribute,
+                        @Value("${jwt.auth.converter.resource-id}") String resourceId,
+                        @Value("${jwt.auth.converter.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.principleAttribute = principleAttribute;
+        this.resourceId = resourceId;
+        this.resolvedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(Expiry.creating((String key, ResolvedToken value) -> value.timeToLive()))
+                .build();
+    }
 
     @Override
     public AbstractAuthenticationToken convert(@NotNull Jwt jwt) {
+        String key = jwt.getId() != null ? jwt.getId() : jwt.getTokenValue();
+        ResolvedToken resolved = resolvedTokens.get(key, ignored -> resolve(jwt));
+
+        return new JwtAuthenticationToken(
+                jwt,
+                resolved.authorities(),
+                resolved.principal()
+        );
+    }
 
+    ResolvedToken resolve(Jwt jwt) {
         Collection<GrantedAuthority> authorities = Stream.concat(
                 jwtGrantedAuthoritiesConverter.convert(jwt).stream(),
                 extractResourceRoles(jwt).stream()
-        ).collect(Collectors.toSet());
+        ).collect(Collectors.toUnmodifiableSet());
 
-        return new JwtAuthenticationToken(
-                jwt,
-                authorities,
-                getPrincipleClaimName(jwt)
-        );
+        return new ResolvedToken(authorities, getPrincipleClaimName(jwt), jwt.getExpiresAt());
     }
 
     private String getPrincipleClaimName(Jwt jwt) {
@@ -73,4 +99,15 @@ public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken>
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                 .collect(Collectors.toSet());
     }
+
+    record ResolvedToken(Collection<GrantedAuthority> authorities, String principal, Instant expiresAt) {
+
+        Duration timeToLive() {
+            if (expiresAt == null) {
+                return Duration.ZERO;
+            }
+            Duration remaining = Duration.between(Instant.now(), expiresAt);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package org.example.backend.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies access tokens without waiting on Keycloak in the request path:
+ * <ul>
+ *     <li>{@code security.jwt.jwk-set-location} loads the keys from a local JWK set file and never calls Keycloak;</li>
+ *     <li>otherwise the keys from {@code jwk-set-uri} are cached and refreshed in the background before they expire,
+ *     and the last known keys keep being used while Keycloak is unreachable;</li>
+ *     <li>with only an {@code issuer-uri}, discovery of the key set URI is deferred to the first token.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class JwtDecoderConfig {
+
+    private final String issuerUri;
+    private final String jwkSetUri;
+    private final String jwkSetLocation;
+    private final ResourceLoader resourceLoader;
+    private final Set<JWSAlgorithm> algorithms;
+    private final Duration cacheTimeToLive;
+    private final Duration refreshTimeout;
+    private final Duration refreshAhead;
+    private final Duration outageTolerance;
+
+    private volatile JWKSource<SecurityContext> jwkSource;
+
+    public JwtDecoderConfig(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}") String issuerUri,
+                            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+                            @Value("${security.jwt.jwk-set-location:}") String jwkSetLocation,
+                            ResourceLoader resourceLoader,
+                            @Value("${spring.security.oauth2.resourceserver.jwt.jws-algorithms:RS256}") Set<String> algorithms,
+                            @Value("${security.jwt.jwk-cache.time-to-live}") Duration cacheTimeToLive,
+                            @Value("${security.jwt.jwk-cache.refresh-timeout}") Duration refreshTimeout,
+                            @Value("${security.jwt.jwk-cache.refresh-ahead}") Duration refreshAhead,
+                            @Value("${security.jwt.jwk-cache.outage-tolerance}") Duration outageTolerance) {
+        this.issuerUri = issuerUri;
+        this.jwkSetUri = jwkSetUri;
+        this.jwkSetLocation = jwkSetLocation;
+        this.resourceLoader = resourceLoader;
+        this.algorithms = algorithms.stream().map(JWSAlgorithm::parse).collect(Collectors.toUnmodifiableSet());
+        this.cacheTimeToLive = cacheTimeToLive;
+        this.refreshTimeout = refreshTimeout;
+        this.refreshAhead = refreshAhead;
+        this.outageTolerance = outageTolerance;
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        if (!jwkSetLocation.isBlank()) {
+            jwkSource = new ImmutableJWKSet<>(loadJwkSet(resourceLoader.getResource(jwkSetLocation)));
+            return decoder(jwkSource);
+        }
+        if (!jwkSetUri.isBlank()) {
+            jwkSource = cachingJwkSource(jwkSetUri);
+            return decoder(jwkSource);
+        }
+        return new SupplierJwtDecoder(() -> {
+            jwkSource = cachingJwkSource(discoverJwkSetUri());
+            return decoder(jwkSource);
+        });
+    }
+
+    /**
+     * Loads the keys once the application is up, off the request path, so the first request finds them cached.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        JWKSource<SecurityContext> source = jwkSource;
+        if (source == null) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                source.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            } catch (Exception ex) {
+                log.warn("Could not load the JWK set, keys will be fetched on the first request: {}", ex.getMessage());
+            }
+        });
+    }
+
+    private NimbusJwtDecoder decoder(JWKSource<SecurityContext> source) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, source));
+        // Claims are validated by Spring Security below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(issuerUri.isBlank()
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
+    }
+
+    private JWKSource<SecurityContext> cachingJwkSource(String uri) {
+        try {
+            return JWKSourceBuilder.<SecurityContext>create(URI.create(uri).toURL())
+                    .cache(cacheTimeToLive.toMillis(), refreshTimeout.toMillis())
+                    .refreshAheadCache(refreshAhead.toMillis(), true)
+                    .outageTolerant(outageTolerance.toMillis())
+                    .build();
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException("Invalid JWK set URI " + uri, ex);
+        }
+    }
+
+    private String discoverJwkSetUri() {
+        Map<String, Object> configuration = RestClient.create()
+                .get()
+                .uri(issuerUri.replaceAll("/$", "") + "/.well-known/openid-configuration")
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                });
+        if (configuration == null || !(configuration.get("jwks_uri") instanceof String uri)) {
+            throw new IllegalStateException("Issuer " + issuerUri + " does not advertise a jwks_uri");
+        }
+        return uri;
+    }
+
+    private static JWKSet loadJwkSet(Resource location) {
+        try (InputStream inputStream = location.getInputStream()) {
+            return JWKSet.load(inputStream);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the JWK set from " + location, ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Invalid JWK set in " + location, ex);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.example.backend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +12,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -18,6 +22,7 @@ import org.springframework.web.filter.CorsFilter;
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    private static final String LISTING = "/api/v1/products/all";
 
     private final JwtConverter jwtConverter;
 
@@ -31,7 +36,8 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .headers(h -> h.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/v1/products/all").permitAll()
+                        .requestMatchers(facetedListings()).authenticated()
+                        .requestMatchers(LISTING).permitAll()
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -44,6 +50,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Listings asking for facet counts, which run a {@code GROUP BY} over the filtered catalog on every new filter:
+     * public listings stay public, but anonymous callers cannot make the database aggregate at will.
+     */
+    private static RequestMatcher facetedListings() {
+        RequestMatcher listing = PathPatternRequestMatcher.withDefaults().matcher(LISTING);
+        return request -> listing.matches(request) && isTrue(request.getParameter("facets"));
+    }
+
+    // Same parsing as the controller's boolean binding, so no spelling of true slips past the matcher
+    private static boolean isTrue(String value) {
+        try {
+            return Boolean.TRUE.equals(DefaultConversionService.getSharedInstance().convert(value, Boolean.class));
+        } catch (ConversionException ex) {
+            return false;
+        }
+    }
+
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,39 @@
+package org.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true}: Tomcat, the task executor and the scheduler then run on
+ * virtual threads, so request concurrency is no longer capped by a thread pool. The connection pool becomes the
+ * limit instead, and database access is fenced with {@link ConcurrencyLimitingDataSource} sized to it. Waiting for
+ * a connection happens on the limiter, so the pool's own {@code connectionTimeout} is cut to
+ * {@code database.concurrency-limit.pool-timeout} rather than adding a second full timeout on top.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            @Value("${database.concurrency-limit.acquire-timeout}") Duration acquireTimeout,
+            @Value("${database.concurrency-limit.pool-timeout}") Duration poolTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionTimeout(poolTimeout.toMillis());
+                    return new ConcurrencyLimitingDataSource(dataSource, dataSource.getMaximumPoolSize(), acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
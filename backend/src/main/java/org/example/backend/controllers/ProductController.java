@@ -1,64 +1,193 @@
 package org.example.backend.controllers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.InventoryAggregatesResponse;
 import org.example.backend.dtos.PaginatedResponse;
 import org.example.backend.dtos.ProductFilter;
 import org.example.backend.dtos.ProductRequest;
 import org.example.backend.dtos.ProductResponse;
+import org.example.backend.dtos.StockAdjustmentRequest;
+import org.example.backend.indexes.CatalogVersions;
+import org.example.backend.mappers.ProductMapper;
 import org.example.backend.models.Product;
+import org.example.backend.services.ProductFacetService;
 import org.example.backend.services.ProductService;
+import org.example.backend.util.ProductCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 public class ProductController {
-    private final ObjectMapper objectMapper;
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+
+    private final ProductMapper productMapper;
     private final ProductService productService;
+    private final ProductFacetService productFacetService;
+    private final CatalogVersions catalogVersions;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @GetMapping("/all")
-    public ResponseEntity<PaginatedResponse<ProductResponse>> getAllProducts(ProductFilter filters, Pageable pageable) {
-        Page<Product> products = productService.getAllProducts(filters, pageable);
+    public ResponseEntity<PaginatedResponse<ProductResponse>> getAllProducts(ProductFilter filters, Pageable pageable,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                             @RequestParam(defaultValue = "false") boolean facets,
+                                                                             NativeWebRequest webRequest) {
+        // Read before the data: a write racing with this request can only make the tag older than the body
+        String eTag = catalogVersions.listingETag(encoding(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
-        List<ProductResponse> productResponses = products.stream()
-                .map(product -> objectMapper.convertValue(product, ProductResponse.class))
-                .toList();
+        PaginatedResponse<ProductResponse> response;
+        if (cursor != null) {
+            response = scrollProducts(filters, pageable, cursor);
+        } else {
+            Slice<ProductResponse> products = productService.getAllProducts(filters, pageable, withTotal);
+            response = new PaginatedResponse<>(products.getContent(), products);
+        }
+        if (facets) {
+            response.withFacets(productFacetService.getFacets(filters));
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
 
-        return ResponseEntity.ok(new PaginatedResponse<>(productResponses, products));
+    private PaginatedResponse<ProductResponse> scrollProducts(ProductFilter filters, Pageable pageable, String cursor) {
+        ProductCursor position = ProductCursor.decode(cursor, pageable.getSort());
+        return scrolled(position, productService.getProductsAfter(filters, position, pageable.getPageSize()));
+    }
+
+    private static PaginatedResponse<ProductResponse> scrolled(ProductCursor position, Slice<ProductResponse> products) {
+        String nextCursor = products.hasNext() ? position.next(products.getContent().getLast()).encode() : null;
+        return new PaginatedResponse<>(products.getContent(), products, nextCursor);
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<PaginatedResponse<ProductResponse>> getLowStockProducts(Pageable pageable,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  NativeWebRequest webRequest) {
+        String eTag = catalogVersions.listingETag(encoding(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        PaginatedResponse<ProductResponse> response;
+        if (cursor != null) {
+            ProductCursor position = ProductCursor.decode(cursor, pageable.getSort());
+            response = scrolled(position, productService.getLowStockProductsAfter(position, pageable.getPageSize()));
+        } else {
+            Page<ProductResponse> products = productService.getLowStockProducts(pageable);
+            response = new PaginatedResponse<>(products.getContent(), products);
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @GetMapping("/aggregates")
+    public ResponseEntity<InventoryAggregatesResponse> getInventoryAggregates(NativeWebRequest webRequest) {
+        String eTag = catalogVersions.listingETag(encoding(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(productService.getInventoryAggregates());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id, NativeWebRequest webRequest) {
+        MediaType encoding = encoding(webRequest);
+        Optional<String> knownETag = catalogVersions.productETag(id, encoding);
+        if (knownETag.isPresent() && webRequest.checkNotModified(knownETag.get())) {
+            return null;
+        }
+
+        Product product = productService.getProduct(id);
+        if (product != null) {
+            return ResponseEntity.ok()
+                    .eTag(catalogVersions.productETag(product, encoding))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(productMapper.toResponse(product));
+        }
+        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/create")
     public ResponseEntity<ProductResponse> create(@RequestBody @Valid ProductRequest productRequest) {
-        Product product = objectMapper.convertValue(productRequest, Product.class);
-        ProductResponse productResponse = objectMapper.convertValue(productService.create(product), ProductResponse.class);
+        Product product = productMapper.toProduct(productRequest);
+        ProductResponse productResponse = productMapper.toResponse(productService.create(product));
         return ResponseEntity.ok(productResponse);
     }
 
     @PutMapping("/update/{id}")
     public ResponseEntity<ProductResponse> update(@PathVariable Long id, @RequestBody @Valid ProductRequest productRequest) {
-        Product productDetails = objectMapper.convertValue(productRequest, Product.class);
+        Product productDetails = productMapper.toProduct(productRequest);
         Product updatedProduct = productService.update(id, productDetails);
         if (updatedProduct != null) {
-            ProductResponse productResponse = objectMapper.convertValue(updatedProduct, ProductResponse.class);
+            ProductResponse productResponse = productMapper.toResponse(updatedProduct);
             return ResponseEntity.ok(productResponse);
         }
         return ResponseEntity.notFound().build();
     }
 
+    @PostMapping("/stock/increment/{id}")
+    public ResponseEntity<ProductResponse> incrementStock(@PathVariable Long id,
+                                                          @RequestBody @Valid StockAdjustmentRequest adjustment) {
+        return adjustStock(id, adjustment.amount());
+    }
+
+    @PostMapping("/stock/decrement/{id}")
+    public ResponseEntity<ProductResponse> decrementStock(@PathVariable Long id,
+                                                          @RequestBody @Valid StockAdjustmentRequest adjustment) {
+        return adjustStock(id, -adjustment.amount());
+    }
+
+    private ResponseEntity<ProductResponse> adjustStock(Long id, int delta) {
+        Product adjustedProduct = productService.adjustStock(id, delta);
+        if (adjustedProduct != null) {
+            return ResponseEntity.ok(productMapper.toResponse(adjustedProduct));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<ProductResponse> delete(@PathVariable Long id) {
         Product deletedProduct = productService.delete(id);
-        ProductResponse productResponse = objectMapper.convertValue(deletedProduct, ProductResponse.class);
+        ProductResponse productResponse = productMapper.toResponse(deletedProduct);
         if (deletedProduct != null) {
             return ResponseEntity.ok(productResponse);
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * The encoding the body will be written in, resolved from the {@code Accept} header the way the message
+     * converters will resolve it, so that each encoding gets a tag of its own.
+     */
+    private MediaType encoding(NativeWebRequest webRequest) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+                for (MediaType encoding : ENCODINGS) {
+                    if (accepted.isCompatibleWith(encoding)) {
+                        return encoding;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            // An unparseable Accept header is rejected when the body is written; the tag does not matter then
+        }
+        return MediaType.APPLICATION_JSON;
+    }
 }
@@ -2,9 +2,15 @@ package org.example.backend.controllers;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dtos.BulkUserResponse;
 import org.example.backend.dtos.ErrorMessage;
 import org.example.backend.dtos.KeycloakUserRequest;
+import org.example.backend.dtos.PaginatedResponse;
 import org.example.backend.services.KeycloakService;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Date;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -51,9 +58,18 @@ public class UserController {
         }
     }
 
+    @PostMapping("/bulk-create")
+    public ResponseEntity<BulkUserResponse> createUsers(@RequestBody List<KeycloakUserRequest> userRequests) {
+        return ResponseEntity.ok(keycloakService.createUsers(userRequests));
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<?> getAllUsers() {
-        return ResponseEntity.ok(keycloakService.getAllUsers());
+    public ResponseEntity<PaginatedResponse<UserRepresentation>> getAllUsers(@RequestParam(required = false) String search,
+                                                                             Pageable pageable) {
+        // Keycloak cannot sort users, so only page and size are passed on (and make up the cache key)
+        Page<UserRepresentation> users = keycloakService.getUsers(search == null || search.isBlank() ? null : search.trim(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return ResponseEntity.ok(new PaginatedResponse<>(users.getContent(), users));
     }
 
 }
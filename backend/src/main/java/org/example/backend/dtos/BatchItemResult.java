@@ -0,0 +1,22 @@
+package org.example.backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.backend.enums.BatchItemStatus;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BatchItemResult(int index, Long id, BatchItemStatus status, List<String> errors) {
+
+    public static BatchItemResult of(int index, Long id, BatchItemStatus status) {
+        return new BatchItemResult(index, id, status, List.of());
+    }
+
+    public static BatchItemResult rejected(int index, Long id, BatchItemStatus status, List<String> errors) {
+        return new BatchItemResult(index, id, status, errors);
+    }
+
+    public boolean succeeded() {
+        return status == BatchItemStatus.CREATED || status == BatchItemStatus.UPDATED || status == BatchItemStatus.DELETED;
+    }
+}
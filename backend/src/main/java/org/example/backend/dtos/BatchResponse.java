@@ -0,0 +1,12 @@
+package org.example.backend.dtos;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record BatchResponse(int total, int succeeded, int failed, List<BatchItemResult> results) {
+
+    public static BatchResponse of(BatchItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(BatchItemResult::succeeded).count();
+        return new BatchResponse(results.length, succeeded, results.length - succeeded, List.of(results));
+    }
+}
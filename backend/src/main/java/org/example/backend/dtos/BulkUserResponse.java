@@ -0,0 +1,12 @@
+package org.example.backend.dtos;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record BulkUserResponse(int total, int succeeded, int failed, List<UserProvisioningResult> results) {
+
+    public static BulkUserResponse of(UserProvisioningResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(UserProvisioningResult::succeeded).count();
+        return new BulkUserResponse(results.length, succeeded, results.length - succeeded, List.of(results));
+    }
+}
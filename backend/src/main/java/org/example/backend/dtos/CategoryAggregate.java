@@ -0,0 +1,13 @@
+package org.example.backend.dtos;
+
+import org.example.backend.enums.Category;
+
+import java.math.BigDecimal;
+
+/**
+ * Stock totals for one category: number of products, units on hand, their value ({@code price * quantity})
+ * and how many products are at or below their minimum quantity.
+ */
+public record CategoryAggregate(Category category, long productCount, long totalQuantity, BigDecimal stockValue,
+                                long lowStockCount) {
+}
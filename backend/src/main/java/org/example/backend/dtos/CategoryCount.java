@@ -0,0 +1,6 @@
+package org.example.backend.dtos;
+
+import org.example.backend.enums.Category;
+
+public record CategoryCount(Category category, long count) {
+}
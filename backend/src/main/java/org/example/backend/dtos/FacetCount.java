@@ -0,0 +1,10 @@
+package org.example.backend.dtos;
+
+import org.example.backend.enums.Category;
+
+/**
+ * One group of the facet query: products of a category falling in a price bucket, and whether those prices
+ * also satisfy the requested price range.
+ */
+public record FacetCount(Category category, int priceBucket, boolean inPriceRange, long count) {
+}
@@ -0,0 +1,7 @@
+package org.example.backend.dtos;
+
+import java.util.List;
+
+public record ImportReport(long rowsRead, long imported, long rejected, List<ImportRowError> errors,
+                           boolean errorsTruncated) {
+}
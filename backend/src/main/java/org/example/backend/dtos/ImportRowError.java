@@ -0,0 +1,6 @@
+package org.example.backend.dtos;
+
+import java.util.List;
+
+public record ImportRowError(long line, List<String> errors) {
+}
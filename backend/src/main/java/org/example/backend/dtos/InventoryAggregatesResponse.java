@@ -0,0 +1,27 @@
+package org.example.backend.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record InventoryAggregatesResponse(
+        List<CategoryAggregate> categories,
+        long productCount,
+        long totalQuantity,
+        BigDecimal stockValue,
+        long lowStockCount
+) {
+
+    public static InventoryAggregatesResponse of(List<CategoryAggregate> categories) {
+        long productCount = 0;
+        long totalQuantity = 0;
+        BigDecimal stockValue = BigDecimal.ZERO;
+        long lowStockCount = 0;
+        for (CategoryAggregate category : categories) {
+            productCount += category.productCount();
+            totalQuantity += category.totalQuantity();
+            stockValue = stockValue.add(category.stockValue());
+            lowStockCount += category.lowStockCount();
+        }
+        return new InventoryAggregatesResponse(categories, productCount, totalQuantity, stockValue, lowStockCount);
+    }
+}
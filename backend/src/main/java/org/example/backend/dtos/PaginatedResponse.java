@@ -1,25 +1,44 @@
 package org.example.backend.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Getter
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginatedResponse<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private String nextCursor;
+    private ProductFacets facets;
 
-    public PaginatedResponse(List<T> content, Page<?> page) {
+    public PaginatedResponse(List<T> content, Slice<?> slice) {
         this.content = content;
-        this.pageNumber = page.getNumber();
-        this.pageSize = page.getSize();
-        this.totalElements = page.getTotalElements();
-        this.totalPages = page.getTotalPages();
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        if (slice instanceof Page<?> page) {
+            this.totalElements = page.getTotalElements();
+            this.totalPages = page.getTotalPages();
+        }
+    }
+
+    public PaginatedResponse(List<T> content, Slice<?> slice, String nextCursor) {
+        this.content = content;
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.nextCursor = nextCursor;
+    }
+
+    public PaginatedResponse<T> withFacets(ProductFacets facets) {
+        this.facets = facets;
+        return this;
     }
 }
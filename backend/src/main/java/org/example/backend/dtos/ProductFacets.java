@@ -0,0 +1,22 @@
+package org.example.backend.dtos;
+
+import org.example.backend.enums.Category;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * How many products each filter option would return. Category counts ignore the category filter and price
+ * bucket counts ignore the price filter, so every option of the panel shows what selecting it would give.
+ */
+public record ProductFacets(List<CategoryFacet> categories, List<PriceBucketFacet> priceBuckets) {
+
+    public record CategoryFacet(Category category, long count) {
+    }
+
+    /**
+     * Prices from {@code from} (inclusive) to {@code to} (exclusive); either end is {@code null} when unbounded.
+     */
+    public record PriceBucketFacet(BigDecimal from, BigDecimal to, long count) {
+    }
+}
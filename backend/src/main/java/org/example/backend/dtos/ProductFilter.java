@@ -1,6 +1,35 @@
 package org.example.backend.dtos;
 
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+
 import java.math.BigDecimal;
 
-public record ProductFilter(Long id, String name, String category, BigDecimal minPrice, BigDecimal maxPrice) {
+public record ProductFilter(Long id, String name, String category, BigDecimal minPrice, BigDecimal maxPrice, String search,
+                            Boolean lowStock) {
+
+    /**
+     * In-memory counterpart of {@link org.example.backend.specifications.ProductSpecifications#buildSpecification}.
+     * Errs towards {@code true} where the database predicate cannot be reproduced exactly (full-text search).
+     */
+    public boolean matches(Product product) {
+        if (id != null && !id.equals(product.getId())) {
+            return false;
+        }
+        if (name != null && !name.isEmpty()
+                && !product.getName().toLowerCase().contains(name.toLowerCase())) {
+            return false;
+        }
+        if (category != null && !category.isEmpty()
+                && Category.parse(category).filter(c -> c == product.getCategory()).isEmpty()) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(lowStock) && !product.isBelowMinQuantity()) {
+            return false;
+        }
+        if (minPrice != null && product.getPrice().compareTo(minPrice) < 0) {
+            return false;
+        }
+        return maxPrice == null || product.getPrice().compareTo(maxPrice) <= 0;
+    }
 }
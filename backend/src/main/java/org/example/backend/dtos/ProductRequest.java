@@ -28,6 +28,8 @@ public record ProductRequest(
 
         @NotNull(message = "Product minimum quantity is required")
         @Min(value = 0, message = "Product minimum quantity must be greater than or equal to 0")
-        int minQuantity
+        int minQuantity,
+
+        Long version
 ) {
 }
@@ -1,5 +1,7 @@
 package org.example.backend.dtos;
 
+import org.example.backend.enums.Category;
+
 import java.math.BigDecimal;
 
 public record ProductResponse (
@@ -9,6 +11,13 @@ public record ProductResponse (
         String category,
         BigDecimal price,
         int quantity,
-        int minQuantity
+        int minQuantity,
+        Long version
 ) {
+
+    // Used by the JPQL/criteria projections, which select the category as the enum
+    public ProductResponse(Long id, String name, String description, Category category, BigDecimal price,
+                           int quantity, int minQuantity, Long version) {
+        this(id, name, description, category != null ? category.name() : null, price, quantity, minQuantity, version);
+    }
 }
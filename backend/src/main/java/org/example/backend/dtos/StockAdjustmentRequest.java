@@ -0,0 +1,11 @@
+package org.example.backend.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record StockAdjustmentRequest(
+        @NotNull(message = "Amount is required")
+        @Min(value = 1, message = "Amount must be greater than or equal to 1")
+        Integer amount
+) {
+}
@@ -0,0 +1,22 @@
+package org.example.backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.backend.enums.BatchItemStatus;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record UserProvisioningResult(int index, String username, BatchItemStatus status, List<String> errors) {
+
+    public static UserProvisioningResult of(int index, String username, BatchItemStatus status) {
+        return new UserProvisioningResult(index, username, status, List.of());
+    }
+
+    public static UserProvisioningResult rejected(int index, String username, BatchItemStatus status, List<String> errors) {
+        return new UserProvisioningResult(index, username, status, errors);
+    }
+
+    public boolean succeeded() {
+        return status == BatchItemStatus.CREATED;
+    }
+}
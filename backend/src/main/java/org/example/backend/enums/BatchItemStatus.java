@@ -0,0 +1,11 @@
+package org.example.backend.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID,
+    FAILED,
+}
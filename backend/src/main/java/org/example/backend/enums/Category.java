@@ -1,5 +1,7 @@
 package org.example.backend.enums;
 
+import java.util.Optional;
+
 public enum Category {
     ELECTRONICS,
     CLOTHING,
@@ -11,4 +13,13 @@ public enum Category {
     FOOD,
     PET_SUPPLIES,
     AUTOMOTIVE,
+    ;
+
+    public static Optional<Category> parse(String value) {
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package org.example.backend.enums;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ProductDataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    // RFC 8742 CBOR sequence: one CBOR-encoded product after another
+    CBOR("application/cbor-seq", "cbor"),
+    ;
+
+    private final String mediaType;
+    private final String extension;
+
+    ProductDataFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static Optional<ProductDataFormat> forMediaType(MediaType mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> MediaType.parseMediaType(format.mediaType).isCompatibleWith(mediaType))
+                .findFirst();
+    }
+}
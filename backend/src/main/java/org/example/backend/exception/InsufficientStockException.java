@@ -0,0 +1,7 @@
+package org.example.backend.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long id, int quantity, int delta) {
+        super("Product " + id + " has " + quantity + " units in stock, cannot apply an adjustment of " + delta);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.backend.exception;
+
+public class KeycloakUnavailableException extends RuntimeException {
+    public KeycloakUnavailableException(String message) {
+        super(message);
+    }
+}
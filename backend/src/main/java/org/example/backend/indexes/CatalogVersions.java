@@ -0,0 +1,78 @@
+package org.example.backend.indexes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.backend.models.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions used as weak ETags: Tomcat will not compress a response with a strong one, since the gzip and identity
+ * bodies would then share a tag meant to identify exact bytes. The catalog version changes on every write, so it
+ * identifies the state of any listing; it starts from the boot time so a restart never reissues an old tag. Product
+ * versions mirror each product's {@code @Version} column for recently written or served products, so a conditional
+ * GET can be answered without a database round trip. Each tag names the encoding of the body it was sent with, since
+ * JSON, CBOR and Smile bodies of the same data are different representations.
+ * <p>
+ * The catalog version only counts writes made through this instance, so the application must run as a single
+ * instance: behind a load balancer, a client could revalidate against an instance that never saw a write and be
+ * told its stale listing is current. The count index, low-stock index and inventory aggregates rely on the same
+ * assumption between reconciles.
+ */
+@Component
+public class CatalogVersions implements ProductChangeListener {
+    private final AtomicLong catalogVersion = new AtomicLong(System.currentTimeMillis());
+    private final Cache<Long, Long> productVersions;
+
+    public CatalogVersions(@Value("${products.etag.product-versions.maximum-size}") long maximumSize) {
+        this.productVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public String listingETag(MediaType encoding) {
+        return "W/\"catalog-" + catalogVersion.get() + "-" + encoding.getSubtype() + "\"";
+    }
+
+    public Optional<String> productETag(Long id, MediaType encoding) {
+        return Optional.ofNullable(productVersions.getIfPresent(id))
+                .map(version -> productETag(id, version, encoding));
+    }
+
+    public String productETag(Product product, MediaType encoding) {
+        return productETag(product.getId(), remember(product), encoding);
+    }
+
+    @Override
+    public void onCreated(Product product) {
+        catalogVersion.incrementAndGet();
+        remember(product);
+    }
+
+    @Override
+    public void onUpdated(Product previous, Product current) {
+        catalogVersion.incrementAndGet();
+        remember(current);
+    }
+
+    @Override
+    public void onDeleted(Product product) {
+        catalogVersion.incrementAndGet();
+        productVersions.invalidate(product.getId());
+    }
+
+    // Keeps the newest version: a product served from a stale read must not roll back the tag of a later write
+    private long remember(Product product) {
+        long version = product.getVersion() != null ? product.getVersion() : 0L;
+        productVersions.asMap().merge(product.getId(), version, Math::max);
+        return version;
+    }
+
+    private static String productETag(Long id, long version, MediaType encoding) {
+        return "W/\"product-" + id + "-" + version + "-" + encoding.getSubtype() + "\"";
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.backend.indexes;
+
+import org.example.backend.dtos.CategoryAggregate;
+import org.example.backend.dtos.InventoryAggregatesResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running stock totals per category, adjusted on every write and periodically replaced by a {@code GROUP BY}
+ * over the table. Each total is updated atomically, but a read racing with a write may see some of that
+ * write's totals and not the others. Writes made while {@link #rebuild()} is querying are replayed onto the
+ * loaded totals, as in {@link ProductCountIndex}.
+ */
+@Component
+public class InventoryAggregates implements ProductChangeListener {
+    private final ProductRepository productRepository;
+
+    private final Map<Category, Totals> byCategory = new EnumMap<>(Category.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes rebuilds, as in ProductCountIndex.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+    // Guarded by lock: set under the write lock, appended to under the read lock.
+    private Queue<Change> changesDuringRebuild;
+
+    public InventoryAggregates(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        for (Category category : Category.values()) {
+            byCategory.put(category, new Totals());
+        }
+    }
+
+    /**
+     * The totals per category, in {@link Category} order. Queried from the database until the first load.
+     */
+    public InventoryAggregatesResponse aggregates() {
+        if (!ready) {
+            return InventoryAggregatesResponse.of(load().values().stream().toList());
+        }
+        return InventoryAggregatesResponse.of(byCategory.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${products.inventory-aggregates.reconcile-interval:PT5M}",
+            initialDelayString = "${products.inventory-aggregates.reconcile-interval:PT5M}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            reload();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void reload() {
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        collectChanges(changes);
+        try {
+            Map<Category, CategoryAggregate> loaded = load();
+
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                byCategory.forEach((category, totals) -> totals.set(loaded.get(category)));
+                changes.forEach(change -> adjust(change.previous(), change.current()));
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            collectChanges(null);
+        }
+    }
+
+    @Override
+    public void onCreated(Product product) {
+        apply(null, product);
+    }
+
+    @Override
+    public void onUpdated(Product previous, Product current) {
+        apply(previous, current);
+    }
+
+    @Override
+    public void onDeleted(Product product) {
+        apply(product, null);
+    }
+
+    private void apply(Product previous, Product current) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            adjust(previous, current);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(previous, current));
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void collectChanges(Queue<Change> changes) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void adjust(Product previous, Product current) {
+        adjust(previous, -1);
+        adjust(current, 1);
+    }
+
+    private void adjust(Product product, int sign) {
+        if (product == null || product.getCategory() == null) {
+            return;
+        }
+        Totals totals = byCategory.get(product.getCategory());
+        totals.productCount.addAndGet(sign);
+        totals.totalQuantity.addAndGet((long) sign * product.getQuantity());
+        if (product.getPrice() != null) {
+            BigDecimal value = product.getPrice().multiply(BigDecimal.valueOf((long) sign * product.getQuantity()));
+            totals.stockValue.accumulateAndGet(value, BigDecimal::add);
+        }
+        if (product.isBelowMinQuantity()) {
+            totals.lowStockCount.addAndGet(sign);
+        }
+    }
+
+    private Map<Category, CategoryAggregate> load() {
+        Map<Category, CategoryAggregate> aggregates = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            aggregates.put(category, new CategoryAggregate(category, 0, 0, BigDecimal.ZERO, 0));
+        }
+        List<CategoryAggregate> rows = productRepository.aggregateByCategory();
+        for (CategoryAggregate row : rows) {
+            if (row.category() != null) {
+                aggregates.put(row.category(), row);
+            }
+        }
+        return aggregates;
+    }
+
+    private record Change(Product previous, Product current) {
+    }
+
+    private static final class Totals {
+        private final AtomicLong productCount = new AtomicLong();
+        private final AtomicLong totalQuantity = new AtomicLong();
+        private final AtomicReference<BigDecimal> stockValue = new AtomicReference<>(BigDecimal.ZERO);
+        private final AtomicLong lowStockCount = new AtomicLong();
+
+        void set(CategoryAggregate aggregate) {
+            productCount.set(aggregate.productCount());
+            totalQuantity.set(aggregate.totalQuantity());
+            stockValue.set(aggregate.stockValue());
+            lowStockCount.set(aggregate.lowStockCount());
+        }
+
+        CategoryAggregate snapshot(Category category) {
+            return new CategoryAggregate(category, productCount.get(), totalQuantity.get(), stockValue.get(),
+                    lowStockCount.get());
+        }
+    }
+}
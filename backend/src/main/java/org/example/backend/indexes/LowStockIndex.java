@@ -0,0 +1,213 @@
+package org.example.backend.indexes;
+
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.util.ProductCursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ids of the products at or below their minimum quantity, kept in id order, so low-stock listings sorted by id
+ * are served without a query. Other sorts are left to the database.
+ * <p>
+ * Changes are applied only if their {@code @Version} is newer than the last one seen for the product, so a
+ * late notification cannot undo a newer one. Writes made while {@link #rebuild()} is querying are replayed
+ * onto the loaded ids, as in {@link ProductCountIndex}.
+ */
+@Component
+public class LowStockIndex implements ProductChangeListener {
+    private static final String ID = "id";
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final ProductRepository productRepository;
+
+    private volatile Entries entries = new Entries(List.of());
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes rebuilds, as in ProductCountIndex.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+    // Guarded by lock: set under the write lock, appended to under the read lock.
+    private Queue<Product> changesDuringRebuild;
+
+    public LowStockIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * A page of low-stock product ids, or empty while the index has not been loaded yet or when the page is
+     * sorted by anything but the id.
+     */
+    public Optional<Page<Long>> page(Pageable pageable) {
+        Sort.Direction direction = idDirection(pageable.getSort());
+        if (!ready || direction == null) {
+            return Optional.empty();
+        }
+
+        Entries snapshot = entries;
+        NavigableSet<Long> ordered = snapshot.ordered(direction);
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(List.copyOf(ordered)));
+        }
+        List<Long> content = ordered.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return Optional.of(new PageImpl<>(content, pageable, snapshot.size.get()));
+    }
+
+    /**
+     * The low-stock product ids following the cursor, found by seeking to its last id rather than skipping
+     * the earlier pages. Empty while the index has not been loaded yet or when the cursor is not on the id.
+     */
+    public Optional<Slice<Long>> after(ProductCursor cursor, int size) {
+        if (!ready || !cursor.isById()) {
+            return Optional.empty();
+        }
+
+        NavigableSet<Long> ordered = entries.ordered(cursor.direction());
+        if (!cursor.isFirst()) {
+            ordered = ordered.tailSet(cursor.lastId(), false);
+        }
+        List<Long> content = ordered.stream()
+                .limit(size + 1L)
+                .toList();
+        boolean hasNext = content.size() > size;
+        return Optional.of(new SliceImpl<>(hasNext ? content.subList(0, size) : content,
+                PageRequest.of(0, size, cursor.sort()), hasNext));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${products.low-stock-index.reconcile-interval:PT5M}",
+            initialDelayString = "${products.low-stock-index.reconcile-interval:PT5M}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            reload();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void reload() {
+        Queue<Product> changes = new ConcurrentLinkedQueue<>();
+        collectChanges(changes);
+        try {
+            Entries loaded = new Entries(productRepository.findLowStockIds());
+
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                changes.forEach(loaded::apply);
+                entries = loaded;
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            collectChanges(null);
+        }
+    }
+
+    @Override
+    public void onCreated(Product product) {
+        apply(product);
+    }
+
+    @Override
+    public void onUpdated(Product previous, Product current) {
+        apply(current);
+    }
+
+    @Override
+    public void onDeleted(Product product) {
+        apply(product.toBuilder().version(DELETED).build());
+    }
+
+    private void apply(Product product) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            entries.apply(product);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(product);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void collectChanges(Queue<Product> changes) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Sort.Direction idDirection(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Direction.ASC;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && ID.equals(orders.getFirst().getProperty()) ? orders.getFirst().getDirection() : null;
+    }
+
+    /**
+     * The ids with their count, and the last version seen for every product written since the ids were loaded.
+     */
+    private static final class Entries {
+        private final NavigableSet<Long> ids;
+        private final AtomicInteger size;
+        private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+        Entries(List<Long> lowStockIds) {
+            this.ids = new ConcurrentSkipListSet<>(lowStockIds);
+            this.size = new AtomicInteger(ids.size());
+        }
+
+        NavigableSet<Long> ordered(Sort.Direction direction) {
+            return direction.isAscending() ? ids : ids.descendingSet();
+        }
+
+        void apply(Product product) {
+            long version = product.getVersion() != null ? product.getVersion() : 0L;
+            versions.compute(product.getId(), (id, seen) -> {
+                if (seen != null && seen >= version) {
+                    return seen;
+                }
+                if (version != DELETED && product.isBelowMinQuantity()) {
+                    if (ids.add(id)) {
+                        size.incrementAndGet();
+                    }
+                } else if (ids.remove(id)) {
+                    size.decrementAndGet();
+                }
+                return version;
+            });
+        }
+    }
+}
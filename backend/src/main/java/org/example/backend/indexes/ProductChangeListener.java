@@ -0,0 +1,16 @@
+package org.example.backend.indexes;
+
+import org.example.backend.models.Product;
+
+/**
+ * Notified by {@link org.example.backend.services.ProductService} after each write reaches the database,
+ * so in-memory structures derived from the catalog can be maintained incrementally.
+ */
+public interface ProductChangeListener {
+
+    void onCreated(Product product);
+
+    void onUpdated(Product previous, Product current);
+
+    void onDeleted(Product product);
+}
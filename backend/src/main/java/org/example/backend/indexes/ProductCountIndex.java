@@ -0,0 +1,168 @@
+package org.example.backend.indexes;
+
+import org.example.backend.dtos.CategoryCount;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Row counts for the whole catalog and per category, so listings filtered at most by category
+ * can fill in their totals without a {@code COUNT(*)} query.
+ * <p>
+ * Writes made while {@link #rebuild()} is querying are collected and replayed onto the loaded counts, so a
+ * reconcile always takes effect however busy the catalog is. A write that committed just before the query
+ * but was reported after it started is counted twice until the next round.
+ */
+@Component
+public class ProductCountIndex implements ProductChangeListener {
+    private final ProductRepository productRepository;
+
+    private final AtomicLong total = new AtomicLong();
+    private final Map<Category, AtomicLong> byCategory = new EnumMap<>(Category.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes rebuilds without synchronized, which would pin a virtual thread to its carrier during the query.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+    // Guarded by lock: set under the write lock, appended to under the read lock.
+    private Queue<Change> changesDuringRebuild;
+
+    public ProductCountIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        for (Category category : Category.values()) {
+            byCategory.put(category, new AtomicLong());
+        }
+    }
+
+    public OptionalLong count(ProductFilter filters) {
+        if (!ready || filters.id() != null || hasText(filters.name()) || hasText(filters.search())
+                || filters.minPrice() != null || filters.maxPrice() != null || Boolean.TRUE.equals(filters.lowStock())) {
+            return OptionalLong.empty();
+        }
+
+        if (!hasText(filters.category())) {
+            return OptionalLong.of(total.get());
+        }
+
+        return OptionalLong.of(Category.parse(filters.category())
+                .map(category -> byCategory.get(category).get())
+                .orElse(0L));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${products.count-index.reconcile-interval:PT5M}",
+            initialDelayString = "${products.count-index.reconcile-interval:PT5M}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            reload();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void reload() {
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        collectChanges(changes);
+        try {
+            Map<Category, Long> counts = new EnumMap<>(Category.class);
+            for (CategoryCount categoryCount : productRepository.countByCategory()) {
+                if (categoryCount.category() != null) {
+                    counts.put(categoryCount.category(), categoryCount.count());
+                }
+            }
+            long sum = productRepository.count();
+
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                total.set(sum);
+                byCategory.forEach((category, count) -> count.set(counts.getOrDefault(category, 0L)));
+                changes.forEach(change -> adjust(change.previous(), change.current()));
+                ready = true;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            collectChanges(null);
+        }
+    }
+
+    @Override
+    public void onCreated(Product product) {
+        apply(null, product);
+    }
+
+    @Override
+    public void onUpdated(Product previous, Product current) {
+        if (previous.getCategory() != current.getCategory()) {
+            apply(previous, current);
+        }
+    }
+
+    @Override
+    public void onDeleted(Product product) {
+        apply(product, null);
+    }
+
+    private void apply(Product previous, Product current) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            adjust(previous, current);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(previous, current));
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void collectChanges(Queue<Change> changes) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void adjust(Product previous, Product current) {
+        if (previous != null) {
+            total.decrementAndGet();
+            adjust(previous.getCategory(), -1);
+        }
+        if (current != null) {
+            total.incrementAndGet();
+            adjust(current.getCategory(), 1);
+        }
+    }
+
+    private void adjust(Category category, int delta) {
+        if (category != null) {
+            byCategory.get(category).addAndGet(delta);
+        }
+    }
+
+    private record Change(Product previous, Product current) {
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.mappers;
+
+import org.example.backend.dtos.ProductRequest;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies fields between {@link Product} and its DTOs directly instead of round-tripping them through Jackson.
+ */
+@Component
+public class ProductMapper {
+
+    public Product toProduct(ProductRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return Product.builder()
+                .name(request.name())
+                .description(request.description())
+                .category(request.category() != null ? Category.valueOf(request.category()) : null)
+                .price(request.price())
+                .quantity(request.quantity())
+                .minQuantity(request.minQuantity())
+                .version(request.version())
+                .build();
+    }
+
+    public ProductResponse toResponse(Product product) {
+        if (product == null) {
+            return null;
+        }
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getCategory() != null ? product.getCategory().name() : null,
+                product.getPrice(),
+                product.getQuantity(),
+                product.getMinQuantity(),
+                product.getVersion()
+        );
+    }
+
+    public ProductRequest toRequest(Product product) {
+        if (product == null) {
+            return null;
+        }
+        return new ProductRequest(
+                product.getName(),
+                product.getDescription(),
+                product.getCategory() != null ? product.getCategory().name() : null,
+                product.getPrice(),
+                product.getQuantity(),
+                product.getMinQuantity(),
+                product.getVersion()
+        );
+    }
+}
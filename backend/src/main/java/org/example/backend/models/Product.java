@@ -1,24 +1,31 @@
 package org.example.backend.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.example.backend.annotations.ValidProductCategory;
 import org.example.backend.enums.Category;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 
+import static org.example.backend.config.HibernateCacheConfig.PRODUCT_REGION;
+
 @Entity
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "product")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PRODUCT_REGION)
 public class Product implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -30,7 +37,7 @@ public class Product implements Serializable {
     @Enumerated(EnumType.STRING)
     private Category category;
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 38, scale = 2)
     private BigDecimal price;
 
     @Column(nullable = false)
@@ -38,4 +45,17 @@ public class Product implements Serializable {
 
     @Column(nullable = false)
     private int minQuantity;
+
+    @Version
+    private Long version;
+
+    // Generated by MySQL as quantity <= min_quantity (see V3 migration); only used in queries.
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Boolean lowStock;
+
+    @JsonIgnore
+    public boolean isBelowMinQuantity() {
+        return quantity <= minQuantity;
+    }
 }
@@ -1,12 +1,34 @@
 package org.example.backend.repositories;
 
+import org.example.backend.dtos.CategoryAggregate;
+import org.example.backend.dtos.CategoryCount;
+import org.example.backend.dtos.ProductResponse;
 import org.example.backend.models.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    @Query("select new org.example.backend.dtos.CategoryCount(p.category, count(p)) from Product p group by p.category")
+    List<CategoryCount> countByCategory();
+
+    @Query("select new org.example.backend.dtos.CategoryAggregate(p.category, count(p), coalesce(sum(p.quantity), 0), " +
+            "coalesce(sum(p.price * p.quantity), 0), sum(case when p.quantity <= p.minQuantity then 1 else 0 end)) " +
+            "from Product p group by p.category")
+    List<CategoryAggregate> aggregateByCategory();
+
+    @Query("select p.id from Product p where p.lowStock = true")
+    List<Long> findLowStockIds();
+
+    @Query("select new org.example.backend.dtos.ProductResponse(p.id, p.name, p.description, p.category, p.price, " +
+            "p.quantity, p.minQuantity, p.version) from Product p where p.id in :ids order by p.id")
+    List<ProductResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
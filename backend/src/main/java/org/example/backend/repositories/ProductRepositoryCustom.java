@@ -0,0 +1,46 @@
+package org.example.backend.repositories;
+
+import org.example.backend.dtos.FacetCount;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.models.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Fetches one page of products without issuing the companion {@code COUNT(*)} query,
+     * reading a single extra row to know whether there is a next page.
+     */
+    Slice<Product> findSlice(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Like {@link #findSlice}, but reads the columns directly into {@link ProductResponse}s instead of managed entities.
+     */
+    Slice<ProductResponse> findResponseSlice(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * One page of {@link ProductResponse}s plus the total, counted only when the page alone cannot tell it.
+     */
+    Page<ProductResponse> findResponsePage(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Counts the products matching {@code spec} per category and price bucket in one query, telling apart the
+     * prices that satisfy {@code priceRange}. Bucket {@code i} holds prices below {@code bounds[i]} and at or above
+     * the previous bound; bucket {@code bounds.size()} holds the rest.
+     */
+    List<FacetCount> countFacets(Specification<Product> spec, Specification<Product> priceRange, List<BigDecimal> bounds);
+
+    /**
+     * Streams every matching product through a forward-only JDBC cursor, read {@code fetchSize} rows at a time.
+     * Must be consumed, and closed, inside a transaction.
+     */
+    Stream<Product> streamAll(Specification<Product> spec, Sort sort, int fetchSize);
+}
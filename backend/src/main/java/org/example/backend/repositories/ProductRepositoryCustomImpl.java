@@ -0,0 +1,193 @@
+package org.example.backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.backend.dtos.FacetCount;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.example.backend.config.HibernateCacheConfig.PRODUCT_QUERIES_REGION;
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Product> findSlice(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root);
+
+        return slice(cached(filterAndSort(query, root, spec, pageable.getSort())), pageable);
+    }
+
+    @Override
+    public Slice<ProductResponse> findResponseSlice(Specification<Product> spec, Pageable pageable) {
+        return slice(responseQuery(spec, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Page<ProductResponse> findResponsePage(Specification<Product> spec, Pageable pageable) {
+        TypedQuery<ProductResponse> query = responseQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<FacetCount> countFacets(Specification<Product> spec, Specification<Product> priceRange, List<BigDecimal> bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        Path<Category> category = root.get("category");
+        Path<BigDecimal> price = root.get("price");
+        CriteriaBuilder.Case<Integer> bucketCase = cb.selectCase();
+        for (int i = 0; i < bounds.size(); i++) {
+            bucketCase = bucketCase.when(cb.lessThan(price, bounds.get(i)), i);
+        }
+        Expression<Integer> bucket = bucketCase.otherwise(bounds.size());
+        Expression<Integer> inPriceRange = cb.<Integer>selectCase()
+                .when(priceRange.toPredicate(root, query, cb), 1)
+                .otherwise(0);
+        Expression<Long> count = cb.count(root);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // The search filter orders by relevance, which is meaningless here and invalid with GROUP BY
+        query.orderBy(List.of());
+        // MySQL's dialect groups by select item position, so the CASE expressions are not repeated
+        query.multiselect(category, bucket, inPriceRange, count)
+                .groupBy(category, bucket, inPriceRange);
+
+        return cached(entityManager.createQuery(query)).getResultList().stream()
+                .map(row -> new FacetCount(row.get(category), row.get(bucket), row.get(inPriceRange) == 1, row.get(count)))
+                .toList();
+    }
+
+    /**
+     * Streams past the second-level cache, which a full export would otherwise fill with every row, evicting the
+     * hot ones. The cache mode is set on the session until the stream is closed: a query hint only applies while
+     * the query executes, not while its rows are read.
+     */
+    @Override
+    public Stream<Product> streamAll(Specification<Product> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root);
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            return filterAndSort(query, root, spec, sort)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()
+                    .onClose(() -> session.setCacheMode(cacheMode));
+        } catch (RuntimeException ex) {
+            session.setCacheMode(cacheMode);
+            throw ex;
+        }
+    }
+
+    /**
+     * Selects the response columns straight into {@link ProductResponse} records, so no entity is instantiated,
+     * registered in the persistence context or snapshotted for dirty checking.
+     */
+    private TypedQuery<ProductResponse> responseQuery(Specification<Product> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("category"),
+                root.get("price"),
+                root.get("quantity"),
+                root.get("minQuantity"),
+                root.get("version")));
+
+        return cached(filterAndSort(query, root, spec, sort));
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.count(root));
+
+        return cached(filterAndSort(query, root, spec, Sort.unsorted())).getSingleResult();
+    }
+
+    /**
+     * Listing queries go through the query cache; Hibernate drops their results whenever the product table is
+     * written through JPA.
+     */
+    private static <T> TypedQuery<T> cached(TypedQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, PRODUCT_QUERIES_REGION);
+    }
+
+    private <T> TypedQuery<T> filterAndSort(CriteriaQuery<T> query, Root<Product> root,
+                                            Specification<Product> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static <T> Slice<T> slice(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
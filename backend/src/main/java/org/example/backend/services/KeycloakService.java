@@ -1,25 +1,65 @@
 package org.example.backend.services;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
-import lombok.AllArgsConstructor;
+import org.example.backend.dtos.BulkUserResponse;
 import org.example.backend.dtos.KeycloakUserRequest;
+import org.example.backend.dtos.UserProvisioningResult;
+import org.example.backend.enums.BatchItemStatus;
+import org.example.backend.util.KeycloakClientRoles;
 import org.example.backend.util.KeycloakProvider;
 import org.keycloak.OAuth2Constants;
-import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static org.example.backend.config.CacheConfig.KEYCLOAK_USERS_CACHE;
 
 @Service
-@AllArgsConstructor
 public class KeycloakService {
+    static final String BACKEND_CLIENT_ID = "quantum-stock-backend";
+
     private final KeycloakProvider keycloakProvider;
+    private final Validator validator;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int provisioningParallelism;
+    private final Cache usersCache;
+
+    public KeycloakService(KeycloakProvider keycloakProvider, Validator validator,
+                           @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                           @Value("${keycloak.provisioning.parallelism}") int provisioningParallelism,
+                           CacheManager cacheManager) {
+        this.keycloakProvider = keycloakProvider;
+        this.validator = validator;
+        this.taskExecutor = taskExecutor;
+        this.provisioningParallelism = provisioningParallelism;
+        this.usersCache = cacheManager.getCache(KEYCLOAK_USERS_CACHE);
+    }
 
     public int createUser(KeycloakUserRequest userRequest) {
+        return keycloakProvider.call(() -> create(userRequest));
+    }
+
+    private int create(KeycloakUserRequest userRequest) {
         UsersResource usersResource = keycloakProvider.getUserResource();
 
         UserRepresentation userRepresentation = new UserRepresentation();
@@ -31,43 +71,137 @@ public class KeycloakService {
         userRepresentation.setEnabled(true);
         userRepresentation.setEmailVerified(true);
 
-        Response response = usersResource.create(userRepresentation);
+        CredentialRepresentation credentialRepresentation = new CredentialRepresentation();
+        credentialRepresentation.setTemporary(false);
+        credentialRepresentation.setType(OAuth2Constants.PASSWORD);
+        credentialRepresentation.setValue(userRequest.getPassword());
 
-        if (response.getStatus() == 201) {
-            String path = response.getLocation().getPath();
-            String userId = path.substring(path.lastIndexOf('/') + 1);
+        // Sent with the user so Keycloak stores it in the same call instead of a separate reset-password request
+        userRepresentation.setCredentials(List.of(credentialRepresentation));
 
-            CredentialRepresentation credentialRepresentation = new CredentialRepresentation();
-            credentialRepresentation.setTemporary(false);
-            credentialRepresentation.setType(OAuth2Constants.PASSWORD);
-            credentialRepresentation.setValue(userRequest.getPassword());
+        try (Response response = usersResource.create(userRepresentation)) {
+            if (response.getStatus() == 201) {
+                String path = response.getLocation().getPath();
+                String userId = path.substring(path.lastIndexOf('/') + 1);
 
-            usersResource.get(userId).resetPassword(credentialRepresentation);
+                assignClientRole(usersResource, userId, userRequest.getRole());
+                usersCache.clear();
+            }
 
-            RealmResource realmResource = keycloakProvider.getRealmResource();
+            return response.getStatus();
+        }
+    }
 
-            String id = realmResource.clients().findByClientId("quantum-stock-backend").getFirst().getId();
+    /**
+     * Creates the given users concurrently, with at most {@code keycloak.provisioning.parallelism} of them
+     * in flight at once. Every user gets a result at its index; one failure does not stop the others.
+     */
+    public BulkUserResponse createUsers(List<KeycloakUserRequest> userRequests) {
+        UserProvisioningResult[] results = new UserProvisioningResult[userRequests.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        Semaphore permits = new Semaphore(provisioningParallelism);
+
+        try {
+            for (int i = 0; i < userRequests.size(); i++) {
+                int index = i;
+                KeycloakUserRequest userRequest = userRequests.get(i);
+                List<String> errors = violations(userRequest);
+                if (!errors.isEmpty()) {
+                    results[index] = UserProvisioningResult.rejected(index, username(userRequest), BatchItemStatus.INVALID, errors);
+                    continue;
+                }
+
+                permits.acquire();
+                pending.add(CompletableFuture
+                        .runAsync(() -> results[index] = provision(index, userRequest), taskExecutor)
+                        .whenComplete((ignored, ex) -> permits.release()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = UserProvisioningResult.rejected(i, username(userRequests.get(i)), BatchItemStatus.FAILED,
+                        List.of("Provisioning was interrupted"));
+            }
+        }
+        return BulkUserResponse.of(results);
+    }
 
-            List<RoleRepresentation> roleRepresentations = realmResource.clients().get(id)
-                    .roles()
-                    .list()
-                    .stream()
-                    .filter(role -> role.getName().equals(userRequest.getRole()))
-                    .toList();
+    /**
+     * Returns one page of users, optionally filtered by Keycloak's {@code search} (username, email, first or
+     * last name). Paging happens in Keycloak; pages are cached briefly and dropped whenever a user is created.
+     */
+    @Cacheable(KEYCLOAK_USERS_CACHE)
+    public Page<UserRepresentation> getUsers(String search, Pageable pageable) {
+        return keycloakProvider.call(() -> {
+            UsersResource usersResource = keycloakProvider.getUserResource();
+            List<UserRepresentation> users = usersResource.search(search, (int) pageable.getOffset(), pageable.getPageSize(), true);
+            return new PageImpl<>(users, pageable, usersResource.count(search));
+        });
+    }
 
-            realmResource
-                    .users()
-                    .get(userId)
-                    .roles()
-                    .clientLevel(id)
-                    .add(roleRepresentations);
+    private UserProvisioningResult provision(int index, KeycloakUserRequest userRequest) {
+        try {
+            int status = createUser(userRequest);
+            if (status == HttpStatus.CREATED.value()) {
+                return UserProvisioningResult.of(index, userRequest.getUsername(), BatchItemStatus.CREATED);
+            } else if (status == HttpStatus.CONFLICT.value()) {
+                return UserProvisioningResult.rejected(index, userRequest.getUsername(), BatchItemStatus.CONFLICT,
+                        List.of("User already exists"));
+            }
+            return UserProvisioningResult.rejected(index, userRequest.getUsername(), BatchItemStatus.FAILED,
+                    List.of("Keycloak responded with status " + status));
+        } catch (RuntimeException ex) {
+            return UserProvisioningResult.rejected(index, userRequest.getUsername(), BatchItemStatus.FAILED,
+                    List.of(String.valueOf(ex.getMessage())));
         }
+    }
 
-        return response.getStatus();
+    private void assignClientRole(UsersResource usersResource, String userId, String roleName) {
+        KeycloakClientRoles clientRoles = keycloakProvider.getClientRoles(BACKEND_CLIENT_ID);
+        if (!clientRoles.roles().containsKey(roleName)) {
+            clientRoles = refreshClientRoles();
+        }
+
+        try {
+            addClientRole(usersResource, userId, clientRoles, roleName);
+        } catch (NotFoundException ex) {
+            // The client or role was recreated since it was cached, so its ids changed
+            addClientRole(usersResource, userId, refreshClientRoles(), roleName);
+        }
     }
 
-    public List<UserRepresentation> getAllUsers() {
-        UsersResource usersResource = keycloakProvider.getUserResource();
-        return usersResource.list();
+    private KeycloakClientRoles refreshClientRoles() {
+        keycloakProvider.evictClientRoles(BACKEND_CLIENT_ID);
+        return keycloakProvider.getClientRoles(BACKEND_CLIENT_ID);
+    }
+
+    private void addClientRole(UsersResource usersResource, String userId, KeycloakClientRoles clientRoles, String roleName) {
+        RoleRepresentation role = clientRoles.roles().get(roleName);
+        List<RoleRepresentation> roleRepresentations = role == null ? List.of() : List.of(role);
+
+        usersResource
+                .get(userId)
+                .roles()
+                .clientLevel(clientRoles.clientUuid())
+                .add(roleRepresentations);
+    }
+
+    private List<String> violations(KeycloakUserRequest userRequest) {
+        if (userRequest == null) {
+            return List.of("User is required");
+        }
+        return validator.validate(userRequest).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private static String username(KeycloakUserRequest userRequest) {
+        return userRequest == null ? null : userRequest.getUsername();
     }
 }
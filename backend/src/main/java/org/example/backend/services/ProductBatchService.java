@@ -0,0 +1,231 @@
+package org.example.backend.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dtos.BatchItemResult;
+import org.example.backend.dtos.BatchResponse;
+import org.example.backend.enums.BatchItemStatus;
+import org.example.backend.indexes.ProductChangeListener;
+import org.example.backend.mappers.ProductMapper;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes many products per call, one transaction per chunk so Hibernate can send each chunk as JDBC batches.
+ * When a chunk fails it is replayed item by item, so one bad row only fails itself.
+ */
+@Slf4j
+@Service
+public class ProductBatchService {
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ProductMapper productMapper;
+    private final List<ProductChangeListener> changeListeners;
+    private final int chunkSize;
+
+    public ProductBatchService(ProductRepository productRepository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager, Validator validator,
+                               ProductMapper productMapper, List<ProductChangeListener> changeListeners,
+                               @Value("${products.batch.chunk-size}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.productMapper = productMapper;
+        this.changeListeners = changeListeners;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchResponse createAll(List<Product> products) {
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        List<Item<Product>> valid = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            List<String> errors = violations(products.get(i));
+            if (errors.isEmpty()) {
+                valid.add(new Item<>(i, products.get(i)));
+            } else {
+                results[i] = BatchItemResult.rejected(i, null, BatchItemStatus.INVALID, errors);
+            }
+        }
+
+        writeInChunks(valid, results, chunk -> {
+            List<Outcome> outcomes = new ArrayList<>(chunk.size());
+            for (Item<Product> item : chunk) {
+                Product product = item.value();
+                product.setId(null);
+                product.setVersion(null);
+                entityManager.persist(product);
+                outcomes.add(new Outcome(
+                        BatchItemResult.of(item.index(), product.getId(), BatchItemStatus.CREATED),
+                        listener -> listener.onCreated(product)
+                ));
+            }
+            return outcomes;
+        });
+        return BatchResponse.of(results);
+    }
+
+    public BatchResponse updateAll(List<Product> products) {
+        BatchItemResult[] results = new BatchItemResult[products.size()];
+        List<Item<Product>> valid = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            List<String> errors = new ArrayList<>(violations(product));
+            if (product.getId() == null) {
+                errors.add("Product id is required");
+            }
+            if (errors.isEmpty()) {
+                valid.add(new Item<>(i, product));
+            } else {
+                results[i] = BatchItemResult.rejected(i, product.getId(), BatchItemStatus.INVALID, errors);
+            }
+        }
+
+        writeInChunks(valid, results, chunk -> {
+            Map<Long, Product> existing = findAllById(chunk.stream().map(item -> item.value().getId()).toList());
+            List<Outcome> outcomes = new ArrayList<>(chunk.size());
+            for (Item<Product> item : chunk) {
+                Product details = item.value();
+                Product product = existing.get(details.getId());
+                if (product == null) {
+                    outcomes.add(new Outcome(BatchItemResult.of(item.index(), details.getId(), BatchItemStatus.NOT_FOUND), null));
+                    continue;
+                }
+
+                if (details.getVersion() != null && !details.getVersion().equals(product.getVersion())) {
+                    outcomes.add(new Outcome(BatchItemResult.rejected(item.index(), product.getId(), BatchItemStatus.CONFLICT,
+                            List.of("Product was modified concurrently, current version is " + product.getVersion())), null));
+                    continue;
+                }
+
+                Product previous = product.toBuilder().build();
+                product.setName(details.getName());
+                product.setDescription(details.getDescription());
+                product.setCategory(details.getCategory());
+                product.setPrice(details.getPrice());
+                product.setQuantity(details.getQuantity());
+                product.setMinQuantity(details.getMinQuantity());
+                outcomes.add(new Outcome(
+                        BatchItemResult.of(item.index(), product.getId(), BatchItemStatus.UPDATED),
+                        listener -> listener.onUpdated(previous, product)
+                ));
+            }
+            return outcomes;
+        });
+        return BatchResponse.of(results);
+    }
+
+    public BatchResponse deleteAll(List<Long> ids) {
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Item<Long>> valid = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = BatchItemResult.rejected(i, null, BatchItemStatus.INVALID, List.of("Product id is required"));
+            } else {
+                valid.add(new Item<>(i, ids.get(i)));
+            }
+        }
+
+        writeInChunks(valid, results, chunk -> {
+            Map<Long, Product> existing = findAllById(chunk.stream().map(Item::value).toList());
+            productRepository.deleteAll(existing.values());
+            List<Outcome> outcomes = new ArrayList<>(chunk.size());
+            for (Item<Long> item : chunk) {
+                Product product = existing.get(item.value());
+                if (product == null) {
+                    outcomes.add(new Outcome(BatchItemResult.of(item.index(), item.value(), BatchItemStatus.NOT_FOUND), null));
+                } else {
+                    outcomes.add(new Outcome(
+                            BatchItemResult.of(item.index(), item.value(), BatchItemStatus.DELETED),
+                            listener -> listener.onDeleted(product)
+                    ));
+                }
+            }
+            return outcomes;
+        });
+        return BatchResponse.of(results);
+    }
+
+    private <T> void writeInChunks(List<Item<T>> items, BatchItemResult[] results,
+                                   Function<List<Item<T>>, List<Outcome>> writer) {
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Item<T>> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            List<Outcome> outcomes = new ArrayList<>(chunk.size());
+            try {
+                outcomes.addAll(commit(chunk, writer));
+            } catch (RuntimeException chunkFailure) {
+                for (Item<T> item : chunk) {
+                    try {
+                        outcomes.addAll(commit(List.of(item), writer));
+                    } catch (RuntimeException itemFailure) {
+                        results[item.index()] = BatchItemResult.rejected(item.index(), null, BatchItemStatus.FAILED,
+                                List.of(String.valueOf(NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage())));
+                    }
+                }
+            }
+            // Only once the chunk is settled: a failing listener must not make a committed write look failed and
+            // get it replayed.
+            for (Outcome outcome : outcomes) {
+                results[outcome.result().index()] = outcome.result();
+                if (outcome.event() != null) {
+                    notifyListeners(outcome);
+                }
+            }
+        }
+    }
+
+    private <T> List<Outcome> commit(List<Item<T>> chunk, Function<List<Item<T>>, List<Outcome>> writer) {
+        try {
+            return Objects.requireNonNull(transactionTemplate.execute(status -> {
+                List<Outcome> written = writer.apply(chunk);
+                entityManager.flush();
+                return written;
+            }));
+        } finally {
+            // Keep the persistence context from growing across chunks when it is shared with the request.
+            entityManager.clear();
+        }
+    }
+
+    private void notifyListeners(Outcome outcome) {
+        for (ProductChangeListener listener : changeListeners) {
+            try {
+                outcome.event().accept(listener);
+            } catch (RuntimeException ex) {
+                log.error("Could not notify {} of committed batch item {}",
+                        listener.getClass().getSimpleName(), outcome.result().index(), ex);
+            }
+        }
+    }
+
+    private Map<Long, Product> findAllById(List<Long> ids) {
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+    }
+
+    private List<String> violations(Product product) {
+        return validator.validate(productMapper.toRequest(product)).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    private record Item<T>(int index, T value) {
+    }
+
+    private record Outcome(BatchItemResult result, Consumer<ProductChangeListener> event) {
+    }
+}
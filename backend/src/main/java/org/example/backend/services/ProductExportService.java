@@ -0,0 +1,118 @@
+package org.example.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.ProductDataFormat;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
+
+/**
+ * Writes the filtered catalog to a stream with a single query, detaching each row once written
+ * so heap use stays flat regardless of catalog size.
+ */
+@Service
+public class ProductExportService {
+    private static final String CSV_HEADER = "id,name,description,category,price,quantity,minQuantity";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public ProductExportService(ProductRepository productRepository, EntityManager entityManager,
+                                ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${products.export.fetch-size}") int fetchSize) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public void export(ProductFilter filters, ProductDataFormat format, OutputStream outputStream) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAll(buildSpecification(filters), Sort.by("id"), fetchSize)) {
+                switch (format) {
+                    case NDJSON -> writeNdjson(products, outputStream);
+                    case CBOR -> writeCbor(products, outputStream);
+                    case CSV -> writeCsv(products, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Stream<Product> products, OutputStream outputStream) throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(Product.class)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                writer.write(product);
+                entityManager.detach(product);
+            }
+        }
+    }
+
+    private void writeCbor(Stream<Product> products, OutputStream outputStream) throws IOException {
+        try (SequenceWriter writer = cborMapper.writerFor(Product.class).writeValues(outputStream)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                writer.write(product);
+                entityManager.detach(product);
+            }
+        }
+    }
+
+    private void writeCsv(Stream<Product> products, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        for (Product product : (Iterable<Product>) products::iterator) {
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writer.write(csvField(product.getName()));
+            writer.write(',');
+            writer.write(csvField(product.getDescription()));
+            writer.write(',');
+            writer.write(product.getCategory() != null ? product.getCategory().name() : "");
+            writer.write(',');
+            writer.write(product.getPrice().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(product.getQuantity()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getMinQuantity()));
+            writer.write('\n');
+            entityManager.detach(product);
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
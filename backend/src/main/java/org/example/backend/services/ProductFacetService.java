@@ -0,0 +1,71 @@
+package org.example.backend.services;
+
+import org.example.backend.dtos.FacetCount;
+import org.example.backend.dtos.ProductFacets;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
+import org.example.backend.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
+
+/**
+ * Facet counts for the listing filter panel, all from a single {@code GROUP BY} over category, price bucket and
+ * whether the price is within the requested range. The other filters apply to every count.
+ */
+@Service
+public class ProductFacetService {
+    private final ProductRepository productRepository;
+    private final List<BigDecimal> priceBucketBounds;
+
+    public ProductFacetService(ProductRepository productRepository,
+                               @Value("${products.facets.price-buckets}") List<BigDecimal> priceBucketBounds) {
+        this.productRepository = productRepository;
+        this.priceBucketBounds = priceBucketBounds.stream().sorted().distinct().toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ProductFacets getFacets(ProductFilter filters) {
+        ProductFilter withoutCategoryAndPrice = new ProductFilter(filters.id(), filters.name(), null, null, null,
+                filters.search(), filters.lowStock());
+        ProductFilter priceRange = new ProductFilter(null, null, null, filters.minPrice(), filters.maxPrice(), null, null);
+        List<FacetCount> counts = productRepository.countFacets(buildSpecification(withoutCategoryAndPrice),
+                buildSpecification(priceRange), priceBucketBounds);
+
+        boolean byCategory = filters.category() != null && !filters.category().isEmpty();
+        Optional<Category> category = byCategory ? Category.parse(filters.category()) : Optional.empty();
+
+        long[] categoryCounts = new long[Category.values().length];
+        long[] bucketCounts = new long[priceBucketBounds.size() + 1];
+        for (FacetCount count : counts) {
+            if (count.category() == null) {
+                continue;
+            }
+            if (count.inPriceRange()) {
+                categoryCounts[count.category().ordinal()] += count.count();
+            }
+            if (!byCategory || category.filter(c -> c == count.category()).isPresent()) {
+                bucketCounts[count.priceBucket()] += count.count();
+            }
+        }
+
+        List<ProductFacets.CategoryFacet> categories = new ArrayList<>();
+        for (Category value : Category.values()) {
+            categories.add(new ProductFacets.CategoryFacet(value, categoryCounts[value.ordinal()]));
+        }
+        List<ProductFacets.PriceBucketFacet> priceBuckets = new ArrayList<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal from = i == 0 ? null : priceBucketBounds.get(i - 1);
+            BigDecimal to = i == priceBucketBounds.size() ? null : priceBucketBounds.get(i);
+            priceBuckets.add(new ProductFacets.PriceBucketFacet(from, to, bucketCounts[i]));
+        }
+        return new ProductFacets(categories, priceBuckets);
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.backend.dtos.*;
+import org.example.backend.enums.ProductDataFormat;
+import org.example.backend.mappers.ProductMapper;
+import org.example.backend.models.Product;
+import org.example.backend.util.CsvReader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Imports products from a CSV or NDJSON upload while it is still arriving. Parsed rows are handed to a
+ * writer in chunks; once {@code max-pending-chunks} chunks are waiting to be committed the parser blocks,
+ * which in turn stops reading the request body, so memory stays bounded by the chunk size.
+ */
+@Service
+public class ProductImportService {
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "category", "price", "quantity", "minQuantity");
+
+    private final ProductBatchService productBatchService;
+    private final Validator validator;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductBatchService productBatchService, Validator validator, ProductMapper productMapper,
+                                ObjectMapper objectMapper,
+                                @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                @Value("${products.import.chunk-size}") int chunkSize,
+                                @Value("${products.import.max-pending-chunks}") int maxPendingChunks,
+                                @Value("${products.import.max-reported-errors}") int maxReportedErrors) {
+        this.productBatchService = productBatchService;
+        this.validator = validator;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportReport importProducts(InputStream inputStream, ProductDataFormat format) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Report report = new Report(maxReportedErrors);
+        Pipeline pipeline = new Pipeline(report);
+        try {
+            switch (format) {
+                case CSV -> parseCsv(reader, pipeline, report);
+                case NDJSON -> parseNdjson(reader, pipeline, report);
+                case CBOR -> throw new IllegalArgumentException("CBOR is an export-only format");
+            }
+        } finally {
+            pipeline.finish();
+        }
+        return report.toImportReport();
+    }
+
+    private void parseCsv(Reader reader, Pipeline pipeline, Report report) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        try {
+            parseCsvRecords(csv, pipeline, report);
+        } catch (CsvReader.MalformedRecordException e) {
+            report.read();
+            report.rejected(e.getLine(), List.of(e.getMessage()));
+        }
+    }
+
+    private void parseCsvRecords(CsvReader csv, Pipeline pipeline, Report report) throws IOException {
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            report.rejected(csv.getRecordLine(), List.of("Missing columns: " + String.join(", ", missing)));
+            return;
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.getFirst().isBlank()) {
+                continue;
+            }
+            long line = csv.getRecordLine();
+            report.read();
+
+            List<String> errors = new ArrayList<>();
+            BigDecimal price = parse(field(record, columns, "price"), BigDecimal::new,
+                    "Product price is required", "Product price must be a number", errors);
+            Integer quantity = parse(field(record, columns, "quantity"), Integer::valueOf,
+                    "Product quantity is required", "Product quantity must be an integer", errors);
+            Integer minQuantity = parse(field(record, columns, "minQuantity"), Integer::valueOf,
+                    "Product minimum quantity is required", "Product minimum quantity must be an integer", errors);
+            if (!errors.isEmpty()) {
+                report.rejected(line, errors);
+                continue;
+            }
+
+            ProductRequest request = new ProductRequest(
+                    field(record, columns, "name"),
+                    field(record, columns, "description"),
+                    field(record, columns, "category"),
+                    price,
+                    quantity,
+                    minQuantity,
+                    null
+            );
+            accept(line, request, pipeline, report);
+        }
+    }
+
+    private void parseNdjson(Reader reader, Pipeline pipeline, Report report) throws IOException {
+        BufferedReader lines = (BufferedReader) reader;
+        long line = 0;
+        String json;
+        while ((json = lines.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            report.read();
+            try {
+                accept(line, objectMapper.readValue(json, ProductRequest.class), pipeline, report);
+            } catch (JsonProcessingException e) {
+                report.rejected(line, List.of("Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void accept(long line, ProductRequest request, Pipeline pipeline, Report report) {
+        List<String> errors = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        if (!errors.isEmpty()) {
+            report.rejected(line, errors);
+            return;
+        }
+
+        Product product = productMapper.toProduct(request);
+        pipeline.add(new Row(line, product));
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String requiredMessage, String invalidMessage,
+                               List<String> errors) {
+        if (value == null || value.isBlank()) {
+            errors.add(requiredMessage);
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(invalidMessage);
+            return null;
+        }
+    }
+
+    private record Row(long line, Product product) {
+    }
+
+    private class Pipeline {
+        private final Report report;
+        private final Semaphore pending = new Semaphore(maxPendingChunks);
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private List<Row> chunk = new ArrayList<>(chunkSize);
+
+        Pipeline(Report report) {
+            this.report = report;
+        }
+
+        void add(Row row) {
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            tail.join();
+        }
+
+        private void flush() {
+            List<Row> rows = chunk;
+            chunk = new ArrayList<>(chunkSize);
+            pending.acquireUninterruptibly();
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    write(rows);
+                } finally {
+                    pending.release();
+                }
+            }, taskExecutor);
+        }
+
+        private void write(List<Row> rows) {
+            try {
+                BatchResponse response = productBatchService.createAll(rows.stream().map(Row::product).toList());
+                for (BatchItemResult result : response.results()) {
+                    if (result.succeeded()) {
+                        report.imported();
+                    } else {
+                        report.rejected(rows.get(result.index()).line(), result.errors());
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (Row row : rows) {
+                    report.rejected(row.line(), List.of(String.valueOf(e.getMessage())));
+                }
+            }
+        }
+    }
+
+    private static class Report {
+        private final int maxErrors;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private final Queue<ImportRowError> errors = new ConcurrentLinkedQueue<>();
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void read() {
+            rowsRead.incrementAndGet();
+        }
+
+        void imported() {
+            imported.incrementAndGet();
+        }
+
+        void rejected(long line, List<String> messages) {
+            rejected.incrementAndGet();
+            if (reportedErrors.getAndIncrement() < maxErrors) {
+                errors.add(new ImportRowError(line, messages));
+            }
+        }
+
+        ImportReport toImportReport() {
+            List<ImportRowError> sorted = errors.stream()
+                    .sorted(Comparator.comparingLong(ImportRowError::line))
+                    .toList();
+            return new ImportReport(rowsRead.get(), imported.get(), rejected.get(), sorted,
+                    reportedErrors.get() > maxErrors);
+        }
+    }
+}
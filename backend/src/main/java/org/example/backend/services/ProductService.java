@@ -1,52 +1,226 @@
 package org.example.backend.services;
 
+import org.example.backend.cache.ProductCacheInvalidator;
+import org.example.backend.dtos.InventoryAggregatesResponse;
 import org.example.backend.dtos.ProductFilter;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.exception.InsufficientStockException;
+import org.example.backend.indexes.InventoryAggregates;
+import org.example.backend.indexes.ProductChangeListener;
+import org.example.backend.indexes.LowStockIndex;
+import org.example.backend.indexes.ProductCountIndex;
 import org.example.backend.models.Product;
 import org.example.backend.repositories.ProductRepository;
+import org.example.backend.util.ProductCursor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.example.backend.config.CacheConfig.PRODUCTS_CACHE;
+import static org.example.backend.config.CacheConfig.PRODUCT_PAGES_CACHE;
+import static org.example.backend.specifications.ProductSpecifications.after;
 import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
 
 @Service
 public class ProductService {
+    private static final ProductFilter LOW_STOCK = new ProductFilter(null, null, null, null, null, null, true);
+
     private final ProductRepository productRepository;
+    private final ProductCountIndex productCountIndex;
+    private final LowStockIndex lowStockIndex;
+    private final InventoryAggregates inventoryAggregates;
+    private final List<ProductChangeListener> changeListeners;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache productsCache;
+    private final ProductCacheInvalidator productCacheInvalidator;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCountIndex productCountIndex,
+                          LowStockIndex lowStockIndex, InventoryAggregates inventoryAggregates,
+                          List<ProductChangeListener> changeListeners,
+                          PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                          ProductCacheInvalidator productCacheInvalidator) {
         this.productRepository = productRepository;
+        this.productCountIndex = productCountIndex;
+        this.lowStockIndex = lowStockIndex;
+        this.inventoryAggregates = inventoryAggregates;
+        this.changeListeners = changeListeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productsCache = cacheManager.getCache(PRODUCTS_CACHE);
+        this.productCacheInvalidator = productCacheInvalidator;
     }
 
-    public Page<Product> getAllProducts(ProductFilter filters, Pageable pageable) {
+    /**
+     * Returns a {@link org.springframework.data.domain.Page} whenever the total is known: from the count index
+     * for the filter shapes it covers, otherwise from a {@code COUNT(*)} query if {@code withTotal} is set.
+     * Without a total only a {@link Slice} is returned.
+     * <p>
+     * Listings are read-only transactions that select {@link ProductResponse}s directly, never managed entities.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PRODUCT_PAGES_CACHE, keyGenerator = "productPageKeyGenerator")
+    public Slice<ProductResponse> getAllProducts(ProductFilter filters, Pageable pageable, boolean withTotal) {
         Specification<Product> spec = buildSpecification(filters);
-        return productRepository.findAll(spec, pageable);
+
+        OptionalLong total = productCountIndex.count(filters);
+        if (total.isPresent()) {
+            Slice<ProductResponse> products = productRepository.findResponseSlice(spec, pageable);
+            return new PageImpl<>(products.getContent(), pageable, total.getAsLong());
+        }
+
+        if (withTotal) {
+            return productRepository.findResponsePage(spec, pageable);
+        }
+        return productRepository.findResponseSlice(spec, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductResponse> getProductsAfter(ProductFilter filters, ProductCursor cursor, int size) {
+        Specification<Product> spec = buildSpecification(filters).and(after(cursor));
+        return productRepository.findResponseSlice(spec, PageRequest.of(0, size, cursor.sort()));
+    }
+
+    /**
+     * Served from the low-stock index when sorted by id, otherwise queried.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> getLowStockProducts(Pageable pageable) {
+        Page<Long> ids = lowStockIndex.page(pageable).orElse(null);
+        if (ids == null) {
+            return productRepository.findResponsePage(buildSpecification(LOW_STOCK), pageable);
+        }
+        return new PageImpl<>(findResponsesInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductResponse> getLowStockProductsAfter(ProductCursor cursor, int size) {
+        Slice<Long> ids = lowStockIndex.after(cursor, size).orElse(null);
+        if (ids == null) {
+            return getProductsAfter(LOW_STOCK, cursor, size);
+        }
+        return new SliceImpl<>(findResponsesInOrder(ids.getContent()), ids.getPageable(), ids.hasNext());
+    }
+
+    public InventoryAggregatesResponse getInventoryAggregates() {
+        return inventoryAggregates.aggregates();
+    }
+
+    /**
+     * Reads through the product cache. A product read from the database is cached only if no newer version was
+     * cached in the meantime, so a concurrent update cannot be overwritten by the older row.
+     */
+    public Product getProduct(Long id) {
+        Product cached = productsCache.get(id, Product.class);
+        if (cached != null) {
+            return cached;
+        }
+        return productRepository.findById(id)
+                .map(productCacheInvalidator::remember)
+                .orElse(null);
     }
 
     public Product create(Product product) {
-        return productRepository.save(product);
+        product.setId(null);
+        product.setVersion(null);
+        Product created = productRepository.save(product);
+        changeListeners.forEach(listener -> listener.onCreated(created));
+        return created;
     }
 
     public Product update(Long id, Product productDetails) {
         Product product = productRepository.findById(id).orElse(null);
         if (product != null) {
+            if (productDetails.getVersion() != null && !productDetails.getVersion().equals(product.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, id);
+            }
+            Product previous = product.toBuilder().build();
             product.setName(productDetails.getName());
             product.setDescription(productDetails.getDescription());
             product.setCategory(productDetails.getCategory());
             product.setPrice(productDetails.getPrice());
             product.setQuantity(productDetails.getQuantity());
             product.setMinQuantity(productDetails.getMinQuantity());
-            return productRepository.save(product);
+            Product updated = productRepository.save(product);
+            changeListeners.forEach(listener -> listener.onUpdated(previous, updated));
+            return updated;
         }
         return null;
     }
 
+    /**
+     * Adds {@code delta} (negative to remove stock) to the product and writes it back under its {@code @Version}.
+     * Going through the entity lets Hibernate replace just this row in the second-level cache, where a bulk
+     * UPDATE would clear the whole product region; the row itself is usually read from that cache too. An
+     * adjustment that loses the race to a concurrent write is retried against the newer row, so none is lost.
+     * Returns {@code null} if the product does not exist.
+     */
+    public Product adjustStock(Long id, int delta) {
+        while (true) {
+            try {
+                Adjustment adjustment = transactionTemplate.execute(status -> {
+                    Product product = productRepository.findById(id).orElse(null);
+                    if (product == null) {
+                        return null;
+                    }
+                    if (product.getQuantity() + delta < 0) {
+                        throw new InsufficientStockException(id, product.getQuantity(), delta);
+                    }
+                    Product previous = product.toBuilder().build();
+                    product.setQuantity(product.getQuantity() + delta);
+                    return new Adjustment(previous, productRepository.saveAndFlush(product));
+                });
+
+                if (adjustment == null) {
+                    return null;
+                }
+                changeListeners.forEach(listener -> listener.onUpdated(adjustment.previous(), adjustment.current()));
+                return adjustment.current();
+            } catch (ObjectOptimisticLockingFailureException concurrentWrite) {
+                // Another write bumped the version first; start over from its result.
+            }
+        }
+    }
+
+    private List<ProductResponse> findResponsesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductResponse> byId = productRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductResponse::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public Product delete(Long id) {
         Product product = productRepository.findById(id).orElse(null);
         if (product != null) {
             productRepository.delete(product);
+            changeListeners.forEach(listener -> listener.onDeleted(product));
             return product;
         }
         return null;
     }
+
+    private record Adjustment(Product previous, Product current) {
+    }
 }
@@ -1,15 +1,31 @@
 package org.example.backend.specifications;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
 import org.example.backend.models.Product;
+import org.example.backend.util.ProductCursor;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.example.backend.config.FullTextFunctionContributor.MATCH_AGAINST_2;
 
 public class ProductSpecifications {
 
+    // Mirrors InnoDB's default innodb_ft_min_token_size: shorter words are not in the FULLTEXT index.
+    private static final int MIN_TOKEN_LENGTH = 3;
+    // InnoDB's default stopword list (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD): never in the index either.
+    private static final Set<String> STOPWORDS = Set.of("a", "about", "an", "are", "as", "at", "be", "by", "com",
+            "de", "en", "for", "from", "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the", "this",
+            "to", "was", "what", "when", "where", "who", "will", "with", "und", "www");
+
     public static Specification<Product> buildSpecification(ProductFilter filters) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -19,23 +35,45 @@ public class ProductSpecifications {
             }
 
             if (filters.name() != null && !filters.name().isEmpty()) {
-                predicates.add(
-                        cb.like(
-                                cb.lower(root.get("name")),
-                                "%" + filters.name().toLowerCase() + "%"
-                        )
-                );
+                // A plain substring match: FULLTEXT would miss infixes ("phone" in "Smartphone") and stopwords.
+                // Word-based lookups go through the search parameter instead.
+                predicates.add(cb.like(
+                        cb.lower(root.get("name")),
+                        "%" + filters.name().toLowerCase() + "%"
+                ));
+            }
+
+            if (filters.search() != null && !filters.search().isBlank()) {
+                String searchQuery = toBooleanModeQuery(filters.search());
+                if (searchQuery != null) {
+                    Expression<Double> relevance = cb.function(MATCH_AGAINST_2, Double.class,
+                            root.get("name"), root.get("description"), cb.literal(searchQuery));
+                    predicates.add(cb.greaterThan(relevance, 0.0));
+                    if (!Long.class.equals(query.getResultType())) {
+                        query.orderBy(cb.desc(relevance), cb.asc(root.get("id")));
+                    }
+                } else {
+                    String term = "%" + filters.search().trim().toLowerCase() + "%";
+                    predicates.add(cb.or(
+                            cb.like(cb.lower(root.get("name")), term),
+                            cb.like(cb.lower(root.get("description")), term)
+                    ));
+                }
             }
 
             if (filters.category() != null && !filters.category().isEmpty()) {
+                // Compared as the stored enum name so idx_product_category_price stays usable.
                 predicates.add(
-                        cb.equal(
-                                cb.lower(root.get("category")),
-                                filters.category().toLowerCase()
-                        )
+                        Category.parse(filters.category())
+                                .map(category -> cb.equal(root.get("category"), category))
+                                .orElseGet(cb::disjunction)
                 );
             }
 
+            if (Boolean.TRUE.equals(filters.lowStock())) {
+                predicates.add(cb.isTrue(root.get("lowStock")));
+            }
+
             if (filters.minPrice() != null && filters.maxPrice() != null) {
                 predicates.add(cb.between(root.get("price"), filters.minPrice(), filters.maxPrice()));
             } else if (filters.minPrice() != null) {
@@ -51,5 +89,46 @@ public class ProductSpecifications {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
 
+    /**
+     * Turns free text into a boolean-mode query requiring every indexable word as a prefix, e.g. {@code "run sho"}
+     * becomes {@code "+run* +sho*"}. Words too short for the index and stopwords are left out, since requiring
+     * them would match nothing. Returns {@code null} when no word is left.
+     */
+    static String toBooleanModeQuery(String text) {
+        StringJoiner query = new StringJoiner(" ");
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOPWORDS.contains(token)) {
+                query.add("+" + token + "*");
+            }
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor.isFirst()) {
+                return cb.conjunction();
+            }
+
+            boolean ascending = cursor.direction().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate pastId = seek(cb, id, cursor.lastId(), ascending);
+            if (cursor.isById()) {
+                return pastId;
+            }
+
+            Path<Comparable<Object>> key = root.get(cursor.property());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> lastKey = (Comparable<Object>) cursor.lastKeyValue();
+            return cb.or(
+                    seek(cb, key, lastKey, ascending),
+                    cb.and(cb.equal(key, lastKey), pastId)
+            );
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> path, Y value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+}
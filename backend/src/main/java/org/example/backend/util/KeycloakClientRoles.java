@@ -0,0 +1,11 @@
+package org.example.backend.util;
+
+import org.keycloak.representations.idm.RoleRepresentation;
+
+import java.util.Map;
+
+/**
+ * Internal id of a Keycloak client together with its roles, keyed by role name.
+ */
+public record KeycloakClientRoles(String clientUuid, Map<String, RoleRepresentation> roles) {
+}
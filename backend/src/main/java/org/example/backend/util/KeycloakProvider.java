@@ -1,13 +1,37 @@
 package org.example.backend.util;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.exception.KeycloakUnavailableException;
 import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.RoleRepresentation;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.example.backend.config.CacheConfig.KEYCLOAK_CLIENT_ROLES_CACHE;
+
+/**
+ * Holds a single admin client for the lifetime of the application. The underlying connection pool and the
+ * admin access token are shared by every call; the token is refreshed in the background before it expires.
+ * Calls made through {@link #call(Supplier)} are bulkheaded, so a slow Keycloak cannot tie up more than
+ * {@code keycloak.client.max-concurrent-calls} request threads.
+ */
+@Slf4j
 @Component
 public class KeycloakProvider {
 
@@ -30,17 +54,88 @@ public class KeycloakProvider {
     @Value("${keycloak.console.password}")
     private String CONSOLE_PASSWORD;
 
+    @Value("${keycloak.client.pool-size:20}")
+    private int POOL_SIZE;
 
-    public RealmResource getRealmResource() {
-        Keycloak keycloak = KeycloakBuilder.builder()
+    @Value("${keycloak.client.connect-timeout:PT5S}")
+    private Duration CONNECT_TIMEOUT;
+
+    @Value("${keycloak.client.read-timeout:PT30S}")
+    private Duration READ_TIMEOUT;
+
+    @Value("${keycloak.client.checkout-timeout:PT5S}")
+    private Duration CHECKOUT_TIMEOUT;
+
+    @Value("${keycloak.token.min-validity:PT60S}")
+    private Duration TOKEN_MIN_VALIDITY;
+
+    @Value("${keycloak.client.max-concurrent-calls:20}")
+    private int MAX_CONCURRENT_CALLS;
+
+    @Value("${keycloak.client.acquire-timeout:PT2S}")
+    private Duration ACQUIRE_TIMEOUT;
+
+    private Keycloak keycloak;
+    private Semaphore callPermits;
+
+
+    @PostConstruct
+    void init() {
+        keycloak = KeycloakBuilder.builder()
                 .serverUrl(KEYCLOAK_SERVER_URL)
                 .realm(REALM_MASTER)
                 .username(USER_CONSOLE)
                 .password(CONSOLE_PASSWORD)
                 .clientId(ADMIN_CLI)
-                .resteasyClient(new ResteasyClientBuilderImpl().connectionPoolSize(10).build())
+                .resteasyClient(new ResteasyClientBuilderImpl()
+                        .connectionPoolSize(POOL_SIZE)
+                        .maxPooledPerRoute(POOL_SIZE)
+                        .connectTimeout(CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(READ_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                        .connectionCheckoutTimeout(CHECKOUT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                        .build())
                 .build();
+        keycloak.tokenManager().setMinTokenValidity(TOKEN_MIN_VALIDITY.toSeconds());
+        callPermits = new Semaphore(MAX_CONCURRENT_CALLS, true);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        try {
+            if (!callPermits.tryAcquire(ACQUIRE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new KeycloakUnavailableException("Too many concurrent Keycloak calls, try again later");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KeycloakUnavailableException("Interrupted while waiting to call Keycloak");
+        }
+        try {
+            return call.get();
+        } finally {
+            callPermits.release();
+        }
+    }
+
+    /**
+     * Asks the token manager for the admin token, which grants or refreshes it once it is within
+     * {@code keycloak.token.min-validity} of expiring, so request threads normally find a valid token.
+     */
+    @Scheduled(fixedDelayString = "${keycloak.token.refresh-interval:PT30S}",
+            initialDelayString = "${keycloak.token.refresh-interval:PT30S}")
+    public void refreshToken() {
+        try {
+            keycloak.tokenManager().getAccessTokenString();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh the Keycloak admin token: {}", ex.getMessage());
+        }
+    }
 
+    @PreDestroy
+    void close() {
+        keycloak.close();
+    }
+
+
+    public RealmResource getRealmResource() {
         return keycloak.realm(REALM_NAME);
     }
 
@@ -51,4 +146,23 @@ public class KeycloakProvider {
         return realmResource.users();
     }
 
+
+    @Cacheable(cacheNames = KEYCLOAK_CLIENT_ROLES_CACHE, key = "#clientId")
+    public KeycloakClientRoles getClientRoles(String clientId) {
+        RealmResource realmResource = getRealmResource();
+
+        String id = realmResource.clients().findByClientId(clientId).getFirst().getId();
+
+        return new KeycloakClientRoles(id, realmResource.clients().get(id)
+                .roles()
+                .list()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(RoleRepresentation::getName, Function.identity())));
+    }
+
+
+    @CacheEvict(cacheNames = KEYCLOAK_CLIENT_ROLES_CACHE, key = "#clientId")
+    public void evictClientRoles(String clientId) {
+    }
+
 }
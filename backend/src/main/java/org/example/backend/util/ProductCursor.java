@@ -0,0 +1,104 @@
+package org.example.backend.util;
+
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of a keyset (seek) scroll over the product table: the sort column and direction,
+ * plus the sort key and id of the last row returned. Serialized as an opaque URL-safe token.
+ */
+public record ProductCursor(String property, Sort.Direction direction, String lastKey, Long lastId) {
+
+    private static final String ID = "id";
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(ID, "name", "category", "price", "quantity", "minQuantity");
+
+    public static ProductCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new InvalidCursorException("Cannot scroll products sorted by '" + order.getProperty() + "'");
+        }
+        return new ProductCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static ProductCursor decode(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return first(sort);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            String property = in.readUTF();
+            Sort.Direction direction = in.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            String lastKey = in.readUTF();
+            long lastId = in.readLong();
+            if (!SORTABLE_PROPERTIES.contains(property)) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new ProductCursor(property, direction, lastKey, lastId);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(property);
+            out.writeBoolean(direction.isAscending());
+            out.writeUTF(lastKey);
+            out.writeLong(lastId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public ProductCursor next(ProductResponse last) {
+        return new ProductCursor(property, direction, String.valueOf(keyOf(last)), last.id());
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public boolean isById() {
+        return ID.equals(property);
+    }
+
+    public Sort sort() {
+        Sort sort = Sort.by(direction, property);
+        return isById() ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    public Comparable<?> lastKeyValue() {
+        try {
+            return switch (property) {
+                case ID -> Long.valueOf(lastKey);
+                case "price" -> new BigDecimal(lastKey);
+                case "quantity", "minQuantity" -> Integer.valueOf(lastKey);
+                case "category" -> Category.valueOf(lastKey);
+                default -> lastKey;
+            };
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    private Object keyOf(ProductResponse product) {
+        return switch (property) {
+            case ID -> product.id();
+            case "name" -> product.name();
+            case "category" -> product.category();
+            case "price" -> product.price().toPlainString();
+            case "quantity" -> product.quantity();
+            case "minQuantity" -> product.minQuantity();
+            default -> throw new IllegalStateException("Unsupported cursor property " + property);
+        };
+    }
+}
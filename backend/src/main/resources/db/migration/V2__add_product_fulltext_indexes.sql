@@ -0,0 +1 @@
+CREATE FULLTEXT INDEX ft_product_name_description ON product (name, `description`);
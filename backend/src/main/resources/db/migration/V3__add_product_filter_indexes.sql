@@ -0,0 +1,10 @@
+CREATE INDEX idx_product_category_price ON product (category, price);
+
+CREATE INDEX idx_product_price ON product (price);
+
+CREATE INDEX idx_product_name ON product (name);
+
+ALTER TABLE product
+    ADD COLUMN low_stock BOOLEAN AS (quantity <= min_quantity) STORED;
+
+CREATE INDEX idx_product_low_stock ON product (low_stock, category);
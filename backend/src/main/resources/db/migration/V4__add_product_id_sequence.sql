@@ -0,0 +1,12 @@
+-- Hibernate emulates sequences on MySQL with a single-row table; ids are handed out in blocks of 50
+-- (allocationSize on Product) so inserts no longer need the AUTO_INCREMENT value back and can be batched.
+-- The pooled optimizer treats the stored value as the upper end of the next block, so start one block
+-- above the current maximum id.
+CREATE TABLE product_seq
+(
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO product_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51
+FROM product;
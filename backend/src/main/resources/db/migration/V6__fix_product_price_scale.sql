@@ -0,0 +1,4 @@
+-- V1 used to declare the price as a bare DECIMAL, which MySQL reads as DECIMAL(10,0) and rounds to whole units.
+-- Databases created from that V1 are corrected here rather than left to ddl-auto.
+ALTER TABLE product
+    MODIFY price DECIMAL(38, 2) NOT NULL;
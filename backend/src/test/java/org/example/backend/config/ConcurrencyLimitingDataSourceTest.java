@@ -0,0 +1,47 @@
+package org.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitingDataSourceTest {
+    private final DataSource target = mock(DataSource.class);
+    private final Connection raw = mock(Connection.class);
+    private final ConcurrencyLimitingDataSource dataSource =
+            new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+    @Test
+    void theProxyComparesAndUnwrapsAsItself() throws SQLException {
+        when(target.getConnection()).thenReturn(raw);
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(raw);
+        assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+        assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+        assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(raw);
+    }
+
+    @Test
+    void closingTheProxyReleasesThePermit() throws SQLException {
+        when(target.getConnection()).thenReturn(raw);
+        Connection connection = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        connection.close();
+
+        verify(raw).close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
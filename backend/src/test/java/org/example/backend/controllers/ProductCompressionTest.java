@@ -0,0 +1,93 @@
+package org.example.backend.controllers;
+
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tagged listings go through Tomcat's compression, in every encoding, and stay revalidatable when compressed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_compression_test");
+        registry.add("keycloak.init-admin.enabled", () -> false);
+    }
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> Product.builder()
+                        .name("Product " + i)
+                        .description("Description of product " + i)
+                        .category(Category.values()[i % Category.values().length])
+                        .price(BigDecimal.valueOf(10 + i))
+                        .quantity(i)
+                        .minQuantity(5)
+                        .build())
+                .toList());
+    }
+
+    @AfterEach
+    void clearCatalog() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/json", "application/cbor", "application/x-jackson-smile"})
+    void taggedListingsAreCompressed(String accept) throws Exception {
+        HttpResponse<byte[]> response = list(accept, null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(body.readAllBytes().length).isGreaterThan(response.body().length);
+        }
+
+        String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(list(accept, eTag).statusCode()).isEqualTo(304);
+    }
+
+    private HttpResponse<byte[]> list(String accept, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/all?size=100"))
+                .header(HttpHeaders.ACCEPT, accept)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.backend.controllers;
+
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional listing requests across the JSON, CBOR and Smile encodings.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductETagTest {
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_etag_test");
+        registry.add("server.port", () -> 0);
+        registry.add("keycloak.init-admin.enabled", () -> false);
+    }
+
+    @Test
+    void eachEncodingOfAListingHasItsOwnTag() throws Exception {
+        String json = listingETag(MediaType.APPLICATION_JSON);
+        String cbor = listingETag(MediaType.APPLICATION_CBOR);
+        String smile = listingETag(SMILE);
+
+        assertThat(json).isNotEqualTo(cbor).isNotEqualTo(smile);
+        assertThat(cbor).isNotEqualTo(smile);
+        assertThat(listingETag(MediaType.ALL)).isEqualTo(json);
+    }
+
+    @Test
+    void aTagOnlyRevalidatesItsOwnEncoding() throws Exception {
+        String json = listingETag(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(get("/api/v1/products/all").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/products/all").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    private String listingETag(MediaType accept) throws Exception {
+        return mockMvc.perform(get("/api/v1/products/all").accept(accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.backend.controllers;
+
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Facet counts on the listing, with the default price buckets (10, 25, 50, 100, 250, 500, 1000).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductFacetsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_facets_test");
+        registry.add("server.port", () -> 0);
+        registry.add("keycloak.init-admin.enabled", () -> false);
+    }
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.saveAll(List.of(
+                product("Item 1", Category.TOYS, "5"),
+                product("Item 2", Category.TOYS, "20"),
+                product("Item 3", Category.TOYS, "30"),
+                product("Item 4", Category.TOYS, "200"),
+                product("Item 5", Category.HOME, "15"),
+                product("Item 6", Category.HOME, "40"),
+                product("Item 7", Category.HOME, "600"),
+                product("Item 8", Category.ELECTRONICS, "1500"),
+                // Excluded by the name filter from every count
+                product("Spinning top", Category.TOYS, "20")));
+    }
+
+    @AfterEach
+    void clearCatalog() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void categoryCountsIgnoreTheCategoryFilterAndBucketCountsIgnoreThePriceFilter() throws Exception {
+        mockMvc.perform(get("/api/v1/products/all")
+                        .param("facets", "true")
+                        .param("name", "Item")
+                        .param("category", "TOYS")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "50")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                // Within 10..50, whatever the category
+                .andExpect(jsonPath("$.facets.categories[?(@.category == 'TOYS')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.categories[?(@.category == 'HOME')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.categories[?(@.category == 'ELECTRONICS')].count", contains(0)))
+                // Toys at any price
+                .andExpect(jsonPath("$.facets.priceBuckets[*].count", contains(1, 1, 1, 0, 1, 0, 0, 0)));
+    }
+
+    @Test
+    void anonymousListingsCannotAskForFacets() throws Exception {
+        mockMvc.perform(get("/api/v1/products/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets").doesNotExist());
+        mockMvc.perform(get("/api/v1/products/all").param("facets", "true"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/products/all").param("facets", "on"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static Product product(String name, Category category, String price) {
+        return Product.builder()
+                .name(name)
+                .description(name)
+                .category(category)
+                .price(new BigDecimal(price))
+                .quantity(10)
+                .minQuantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.backend.controllers;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Stock adjustments and versioned updates through the API, against an embedded MariaDB.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductStockTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product product;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_stock_test");
+        registry.add("server.port", () -> 0);
+        registry.add("keycloak.init-admin.enabled", () -> false);
+    }
+
+    @BeforeEach
+    void seedProduct() {
+        product = productRepository.save(Product.builder()
+                .name("Desk lamp")
+                .description("Wireless charging base")
+                .category(Category.HOME)
+                .price(new BigDecimal("39.90"))
+                .quantity(5)
+                .minQuantity(2)
+                .build());
+    }
+
+    @AfterEach
+    void clearCatalog() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void removingMoreThanTheStockIsAConflict() throws Exception {
+        adjust("decrement", 6)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Insufficient Stock"));
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void adjustingAMissingProductIsNotFound() throws Exception {
+        mockMvc.perform(post("/api/v1/products/stock/increment/{id}", product.getId() + 1000)
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void adjustmentsOfACachedProductReturnTheStoredRow() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", product.getId()).with(jwt()))
+                .andExpect(status().isOk());
+
+        adjust("decrement", 2)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(3))
+                .andExpect(jsonPath("$.version").value(product.getVersion() + 1));
+        adjust("increment", 4)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(7))
+                .andExpect(jsonPath("$.version").value(product.getVersion() + 2));
+
+        Product stored = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualTo(7);
+        assertThat(stored.getVersion()).isEqualTo(product.getVersion() + 2);
+    }
+
+    @Test
+    void concurrentAdjustmentsAreAllApplied() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResultActions>> adjustments = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                adjustments.add(clients.submit(() -> adjust("increment", 1)));
+            }
+            for (Future<ResultActions> adjustment : adjustments) {
+                adjustment.get().andExpect(status().isOk());
+            }
+        } finally {
+            clients.shutdown();
+        }
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getQuantity()).isEqualTo(45);
+    }
+
+    @Test
+    void adjustmentsKeepOtherProductsInTheSecondLevelCache() throws Exception {
+        Product other = productRepository.save(product.toBuilder().id(null).version(null).name("Floor lamp").build());
+        productRepository.findById(other.getId());
+        Cache secondLevelCache = entityManagerFactory.getCache();
+        assertThat(secondLevelCache.contains(Product.class, other.getId())).isTrue();
+
+        adjust("decrement", 1).andExpect(status().isOk());
+
+        assertThat(secondLevelCache.contains(Product.class, other.getId())).isTrue();
+    }
+
+    @Test
+    void anUpdateFromAStaleVersionIsAConflict() throws Exception {
+        adjust("increment", 1).andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/products/update/{id}", product.getId())
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Desk lamp", "description": "Wireless charging base", "category": "HOME",
+                                 "price": 29.90, "quantity": 5, "minQuantity": 2, "version": %d}
+                                """.formatted(product.getVersion())))
+                .andExpect(status().isConflict());
+
+        Product stored = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.getPrice()).isEqualByComparingTo("39.90");
+        assertThat(stored.getQuantity()).isEqualTo(6);
+    }
+
+    private ResultActions adjust(String direction, int amount) throws Exception {
+        return mockMvc.perform(post("/api/v1/products/stock/{direction}/{id}", direction, product.getId())
+                .with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": " + amount + "}"));
+    }
+}
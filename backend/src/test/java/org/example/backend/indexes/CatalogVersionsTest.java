@@ -0,0 +1,30 @@
+package org.example.backend.indexes;
+
+import org.example.backend.models.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+    private final CatalogVersions catalogVersions = new CatalogVersions(100);
+
+    @Test
+    void aStaleReadDoesNotRollBackTheProductTag() {
+        catalogVersions.onUpdated(product(1L), product(2L));
+        catalogVersions.productETag(product(1L), MediaType.APPLICATION_JSON);
+
+        assertThat(catalogVersions.productETag(7L, MediaType.APPLICATION_JSON)).hasValue("W/\"product-7-2-json\"");
+    }
+
+    @Test
+    void eachEncodingHasItsOwnTag() {
+        assertThat(catalogVersions.listingETag(MediaType.APPLICATION_JSON))
+                .isNotEqualTo(catalogVersions.listingETag(MediaType.APPLICATION_CBOR));
+        assertThat(catalogVersions.productETag(product(1L), MediaType.APPLICATION_CBOR)).isEqualTo("W/\"product-7-1-cbor\"");
+    }
+
+    private static Product product(Long version) {
+        return Product.builder().id(7L).version(version).build();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.backend.indexes;
+
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.util.ProductCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LowStockIndexTest {
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final LowStockIndex index = new LowStockIndex(productRepository);
+
+    @BeforeEach
+    void load() {
+        when(productRepository.findLowStockIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        index.rebuild();
+    }
+
+    @Test
+    void anUpdateOlderThanTheLastSeenIsIgnored() {
+        index.onUpdated(product(6L, 2, 1), product(6L, 1, 2));
+        index.onUpdated(product(6L, 10, 0), product(6L, 2, 1));
+        index.onDeleted(product(1L, 1, 3));
+        index.onUpdated(product(1L, 1, 2), product(1L, 1, 3));
+
+        assertThat(ids(index.page(PageRequest.of(0, 10)).orElseThrow())).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(index.page(PageRequest.of(0, 10)).orElseThrow().getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void writesDuringTheQueryAreReplayedOntoTheLoadedIds() {
+        when(productRepository.findLowStockIds()).thenAnswer(invocation -> {
+            index.onUpdated(product(2L, 1, 1), product(2L, 10, 2));
+            index.onCreated(product(7L, 0, 0));
+            return List.of(1L, 2L, 3L);
+        });
+        index.rebuild();
+
+        assertThat(ids(index.page(PageRequest.of(0, 10)).orElseThrow())).containsExactly(1L, 3L, 7L);
+    }
+
+    @Test
+    void aCursorSeeksPastItsLastId() {
+        ProductCursor first = ProductCursor.first(Sort.by(Sort.Direction.DESC, "id"));
+
+        Slice<Long> page = index.after(first, 2).orElseThrow();
+        assertThat(page.getContent()).containsExactly(5L, 4L);
+        assertThat(page.hasNext()).isTrue();
+
+        ProductCursor next = new ProductCursor("id", Sort.Direction.DESC, "4", 4L);
+        page = index.after(next, 3).orElseThrow();
+        assertThat(page.getContent()).containsExactly(3L, 2L, 1L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void onlyIdOrderIsServedFromTheIndex() {
+        assertThat(index.page(PageRequest.of(0, 2, Sort.by("quantity")))).isEmpty();
+        assertThat(index.after(ProductCursor.first(Sort.by("quantity")), 2)).isEmpty();
+        assertThat(ids(index.page(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"))).orElseThrow()))
+                .containsExactly(3L, 2L);
+    }
+
+    private static List<Long> ids(Page<Long> page) {
+        return page.getContent();
+    }
+
+    private static Product product(Long id, int quantity, long version) {
+        return Product.builder().id(id).quantity(quantity).minQuantity(5).version(version).build();
+    }
+}
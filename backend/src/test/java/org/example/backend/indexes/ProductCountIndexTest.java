@@ -0,0 +1,45 @@
+package org.example.backend.indexes;
+
+import org.example.backend.dtos.CategoryCount;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductCountIndexTest {
+    private static final ProductFilter ALL = new ProductFilter(null, null, null, null, null, null, null);
+    private static final ProductFilter TOYS = new ProductFilter(null, null, "TOYS", null, null, null, null);
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductCountIndex index = new ProductCountIndex(productRepository);
+
+    @Test
+    void writesDuringTheQueryAreReplayedOntoTheLoadedCounts() {
+        when(productRepository.countByCategory()).thenReturn(List.of(new CategoryCount(Category.TOYS, 2)));
+        when(productRepository.count()).thenReturn(2L);
+        index.rebuild();
+        index.onDeleted(product(1L, Category.TOYS));
+        index.onDeleted(product(1L, Category.TOYS));
+
+        // The next reconcile's query races with a create that it does not see, and still corrects the drift.
+        when(productRepository.countByCategory()).thenAnswer(invocation -> {
+            index.onCreated(product(3L, Category.TOYS));
+            return List.of(new CategoryCount(Category.TOYS, 2));
+        });
+        index.rebuild();
+
+        assertThat(index.count(ALL)).hasValue(3);
+        assertThat(index.count(TOYS)).hasValue(3);
+    }
+
+    private static Product product(Long id, Category category) {
+        return Product.builder().id(id).category(category).build();
+    }
+}
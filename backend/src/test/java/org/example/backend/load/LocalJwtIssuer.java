@@ -0,0 +1,61 @@
+package org.example.backend.load;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signs access tokens shaped like Keycloak's with a throwaway RSA key. The public key is written to a JWK set
+ * file that the application reads through {@code security.jwt.jwk-set-location}.
+ */
+class LocalJwtIssuer {
+    static final String ISSUER = "http://localhost/realms/quantum-stock";
+
+    private final RSAKey key;
+    private final Path jwkSetFile;
+
+    LocalJwtIssuer() throws JOSEException, IOException {
+        key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+        jwkSetFile = Files.createTempFile("load-test-jwks", ".json");
+        jwkSetFile.toFile().deleteOnExit();
+        Files.writeString(jwkSetFile, new JWKSet(key.toPublicJWK()).toString());
+    }
+
+    String jwkSetLocation() {
+        return jwkSetFile.toUri().toString();
+    }
+
+    String issue(String username, String role, Duration validity) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(UUID.randomUUID().toString())
+                .jwtID(UUID.randomUUID().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(validity)))
+                .claim("preferred_username", username)
+                .claim("scope", "openid profile email")
+                .claim("resource_access", Map.of("quantum-stock-backend", Map.of("roles", List.of(role))))
+                .build();
+
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.backend.load;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.backend.dtos.BatchItemResult;
+import org.example.backend.dtos.ProductRequest;
+import org.example.backend.enums.Category;
+import org.example.backend.indexes.InventoryAggregates;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.example.backend.services.ProductBatchService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.config.HibernateCacheConfig.PRODUCT_REGION;
+
+/**
+ * Drives a mix of listing, create, update, stock adjustment and delete requests against the full application, backed by an
+ * embedded MariaDB and a local JWT issuer, and reports throughput and latency percentiles per endpoint.
+ * Excluded from {@code test}; run with {@code gradle loadTest}. Tunable through system properties:
+ * <ul>
+ *     <li>{@code load.clients} concurrent clients (default 32)</li>
+ *     <li>{@code load.warmup} / {@code load.duration} as ISO-8601 durations (default PT10S / PT30S)</li>
+ *     <li>{@code load.mix} weights per endpoint (default {@code list:70,create:10,update:10,stock:5,delete:5})</li>
+ *     <li>{@code load.seed-products} products created before the run (default 5000)</li>
+ *     <li>{@code load.virtual-threads} to serve requests on virtual threads (default false)</li>
+ * </ul>
+ * The report, followed by the Hibernate cache hit ratios since startup, is printed and written to
+ * {@code build/reports/load/products.txt}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final String MIX = System.getProperty("load.mix", "list:70,create:10,update:10,stock:5,delete:5");
+    private static final int SEED_PRODUCTS = Integer.getInteger("load.seed-products", 5000);
+
+    private static DB database;
+    private static LocalJwtIssuer jwtIssuer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InventoryAggregates inventoryAggregates;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ConcurrentSkipListSet<Long> productIds = new ConcurrentSkipListSet<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private String token;
+
+    @DynamicPropertySource
+    static void embeddedInfrastructure(DynamicPropertyRegistry registry) throws Exception {
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder()
+                .setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mariadbd refuses to run as root (e.g. in CI containers) unless asked to explicitly
+            builder.addArg("--user=root");
+        }
+        DBConfiguration configuration = builder.build();
+        database = DB.newEmbeddedDB(configuration);
+        database.start();
+        database.createDB("quantum_stock");
+        jwtIssuer = new LocalJwtIssuer();
+
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + configuration.getPort() + "/quantum_stock");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+        // Connector/J's keyword metadata query fails on MariaDB, so the production dialect is set explicitly
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> false);
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", () -> LocalJwtIssuer.ISSUER);
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", () -> "");
+        registry.add("security.jwt.jwk-set-location", jwtIssuer::jwkSetLocation);
+        registry.add("keycloak.init-admin.enabled", () -> false);
+        registry.add("spring.threads.virtual.enabled", () -> Boolean.getBoolean("load.virtual-threads"));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (database != null) {
+            database.stop();
+        }
+    }
+
+    @Test
+    void productEndpointsUnderConcurrentLoad() throws Exception {
+        token = jwtIssuer.issue("load-test", "role_admin", WARMUP.plus(DURATION).plusMinutes(10));
+        seedProducts();
+
+        Map<Operation, Integer> mix = parseMix(MIX);
+        run(mix, WARMUP, null);
+
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        mix.keySet().forEach(operation -> stats.put(operation, new Stats()));
+        long started = System.nanoTime();
+        run(mix, DURATION, stats);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        String report = report(stats, elapsedSeconds) + cacheReport();
+        System.out.println(report);
+        Path reportFile = Path.of("build", "reports", "load", "products.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report);
+
+        stats.forEach((operation, operationStats) -> {
+            assertThat(operationStats.serverErrors.get()).as("5xx responses for %s", operation).isZero();
+            assertThat(operationStats.histogram.getTotalCount()).as("completed %s requests", operation).isPositive();
+        });
+        // The running totals must have followed every write the load produced
+        assertThat(inventoryAggregates.aggregates().categories().stream()
+                .filter(aggregate -> aggregate.productCount() != 0)
+                .toList())
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .ignoringCollectionOrder()
+                .isEqualTo(productRepository.aggregateByCategory());
+    }
+
+    private void seedProducts() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < SEED_PRODUCTS; i++) {
+            products.add(randomProduct(ThreadLocalRandom.current()));
+        }
+        productBatchService.createAll(products).results().stream()
+                .filter(BatchItemResult::succeeded)
+                .map(BatchItemResult::id)
+                .forEach(productIds::add);
+    }
+
+    private void run(Map<Operation, Integer> mix, Duration duration, Map<Operation, Stats> stats) throws InterruptedException {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick(mix, random.nextInt(totalWeight));
+                        HttpRequest request = request(operation, random);
+                        if (request == null) {
+                            continue;
+                        }
+
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                            status = response.statusCode();
+                            if (operation == Operation.CREATE && status == 200) {
+                                productIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                            }
+                        } catch (IOException ex) {
+                            status = 599;
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return null;
+                        }
+                        long latencyMicros = (System.nanoTime() - start) / 1_000;
+
+                        if (stats != null) {
+                            stats.get(operation).record(latencyMicros, status);
+                        }
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            clients.shutdown();
+            assertThat(clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) throws IOException {
+        return switch (operation) {
+            case LIST -> authorized("/api/v1/products/all?page=" + random.nextInt(20) + "&size=20")
+                    .GET()
+                    .build();
+            case CREATE -> authorized("/api/v1/products/create")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomRequest(random))))
+                    .build();
+            case UPDATE -> {
+                Long id = randomProductId(random);
+                yield id == null ? null : authorized("/api/v1/products/update/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomRequest(random))))
+                        .build();
+            }
+            case STOCK -> {
+                Long id = randomProductId(random);
+                yield id == null ? null : authorized("/api/v1/products/stock/"
+                        + (random.nextBoolean() ? "increment" : "decrement") + "/" + id)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": " + (1 + random.nextInt(5)) + "}"))
+                        .build();
+            }
+            case DELETE -> {
+                Long id = randomProductId(random);
+                yield id == null || !productIds.remove(id) ? null : authorized("/api/v1/products/delete/" + id)
+                        .DELETE()
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private Long randomProductId(ThreadLocalRandom random) {
+        if (productIds.isEmpty()) {
+            return null;
+        }
+        long first = productIds.first();
+        long last = productIds.last();
+        Long id = productIds.ceiling(first + (long) (random.nextDouble() * (last - first + 1)));
+        return id != null ? id : productIds.first();
+    }
+
+    private static Product randomProduct(ThreadLocalRandom random) {
+        Category[] categories = Category.values();
+        int suffix = random.nextInt(1_000_000);
+        return Product.builder()
+                .name("Load product " + suffix)
+                .description("Generated by the load test " + suffix)
+                .category(categories[random.nextInt(categories.length)])
+                .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                .quantity(random.nextInt(0, 500))
+                .minQuantity(random.nextInt(0, 50))
+                .build();
+    }
+
+    private static ProductRequest randomRequest(ThreadLocalRandom random) {
+        Product product = randomProduct(random);
+        return new ProductRequest(product.getName(), product.getDescription(), product.getCategory().name(),
+                product.getPrice(), product.getQuantity(), product.getMinQuantity(), null);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Roll outside of the configured mix");
+    }
+
+    private static String report(Map<Operation, Stats> stats, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("Product load test: %d clients, %.1f s, mix %s%n", CLIENTS, elapsedSeconds, MIX))
+                .append(String.format("%-8s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                        "endpoint", "requests", "4xx", "5xx", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        stats.forEach((operation, operationStats) -> {
+            Histogram histogram = operationStats.histogram;
+            report.append(String.format("%-8s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    operationStats.clientErrors.get(),
+                    operationStats.serverErrors.get(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+        });
+        return report.toString();
+    }
+
+    private String cacheReport() {
+        return cacheLine("second-level cache (" + PRODUCT_REGION + ")", "hibernate.second.level.cache.requests", "region", PRODUCT_REGION)
+                + cacheLine("query cache", "hibernate.cache.query.requests");
+    }
+
+    private String cacheLine(String label, String meter, String... tags) {
+        double hits = count(meter, "hit", tags);
+        double misses = count(meter, "miss", tags);
+        double ratio = hits + misses == 0 ? 0 : 100 * hits / (hits + misses);
+        return String.format("hibernate %s: %.0f hits, %.0f misses (%.1f%% hits)%n", label, hits, misses, ratio);
+    }
+
+    private double count(String meter, String result, String... tags) {
+        FunctionCounter counter = meterRegistry.find(meter).tags(tags).tag("result", result).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private enum Operation {
+        LIST, CREATE, UPDATE, STOCK, DELETE
+    }
+
+    private static final class Stats {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final AtomicLong clientErrors = new AtomicLong();
+        private final AtomicLong serverErrors = new AtomicLong();
+
+        void record(long latencyMicros, int status) {
+            histogram.recordValue(latencyMicros);
+            if (status >= 500) {
+                serverErrors.incrementAndGet();
+            } else if (status >= 400) {
+                clientErrors.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.backend.repositories;
+
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prices keep their cents in a schema built by the Flyway migrations alone; Hibernate is kept from touching it.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductPriceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_price_test");
+    }
+
+    @Test
+    void pricesAreStoredWithTheirCents() {
+        Product product = productRepository.saveAndFlush(Product.builder()
+                .name("Desk lamp")
+                .description("Wireless charging base")
+                .category(Category.HOME)
+                .price(new BigDecimal("39.90"))
+                .quantity(5)
+                .minQuantity(2)
+                .build());
+
+        BigDecimal stored = jdbcTemplate.queryForObject("select price from product where id = ?", BigDecimal.class,
+                product.getId());
+        assertThat(stored).isEqualByComparingTo("39.90");
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.backend.repositories;
+
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.backend.repositories.ProductRepositoryIndexTest$LastStatement")
+class ProductRepositoryIndexTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_index_test");
+    }
+
+    /**
+     * ANALYZE TABLE commits implicitly, so the seed outlives each test's rollback; it is written once, into the
+     * schema this test owns.
+     */
+    @BeforeEach
+    void seedCatalog() {
+        if (productRepository.count() > 0) {
+            return;
+        }
+        List<Product> products = new ArrayList<>();
+        Category[] categories = Category.values();
+        for (int i = 0; i < 2000; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .description("Seeded product " + i)
+                    .category(categories[i % categories.length])
+                    .price(BigDecimal.valueOf(i % 500))
+                    .quantity(i % 50)
+                    .minQuantity(10)
+                    .build());
+        }
+        productRepository.saveAllAndFlush(products);
+        jdbcTemplate.execute("ANALYZE TABLE product");
+    }
+
+    @Test
+    void categoryFilterUsesCategoryPriceIndex() {
+        ProductFilter filter = new ProductFilter(null, null, "clothing", null, null, null, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("price"), "CLOTHING", 0, PAGE_SIZE + 1);
+
+        assertThat(plan.get("key")).isEqualTo("idx_product_category_price");
+    }
+
+    @Test
+    void categoryAndPriceRangeUsesCategoryPriceIndex() {
+        ProductFilter filter = new ProductFilter(null, null, "ELECTRONICS", BigDecimal.TEN, BigDecimal.valueOf(100), null, null);
+
+        Map<String, Object> plan = explain(filter, Sort.unsorted(), "ELECTRONICS", BigDecimal.TEN, BigDecimal.valueOf(100), 0, PAGE_SIZE + 1);
+
+        assertThat(plan.get("key")).isEqualTo("idx_product_category_price");
+    }
+
+    @Test
+    void priceRangeUsesAnIndex() {
+        ProductFilter filter = new ProductFilter(null, null, null, BigDecimal.valueOf(400), null, null, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("price"), BigDecimal.valueOf(400), 0, PAGE_SIZE + 1);
+
+        assertThat(plan.get("key")).isEqualTo("idx_product_price");
+        assertThat(plan.get("type")).isEqualTo("range");
+    }
+
+    @Test
+    void lowStockColumnIsIndexed() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN SELECT id FROM product WHERE low_stock = TRUE");
+
+        assertThat(String.valueOf(plan.getFirst().get("possible_keys"))).contains("idx_product_low_stock");
+    }
+
+    /**
+     * Runs the query Hibernate generates for the filter, then returns MySQL's plan for that exact statement.
+     * Listing queries are cacheable, so Hibernate binds both the offset and the limit.
+     */
+    private Map<String, Object> explain(ProductFilter filter, Sort sort, Object... parameters) {
+        productRepository.findResponseSlice(buildSpecification(filter), PageRequest.of(0, PAGE_SIZE, sort));
+
+        return jdbcTemplate.queryForList("EXPLAIN " + LastStatement.sql, parameters).getFirst();
+    }
+
+    public static class LastStatement implements StatementInspector {
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.backend.repositories;
+
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.dtos.ProductResponse;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
+
+/**
+ * The name filter against the search filter. InnoDB only adds rows to a FULLTEXT index on commit, so these tests
+ * run without the usual rollback transaction and clean up after themselves.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_search_test");
+    }
+
+    @BeforeEach
+    void seedCatalog() {
+        productRepository.saveAll(List.of(
+                product("Smartphone X", "Unlocked phone with dual SIM"),
+                product("Wireless headphones", "Over-ear, noise cancelling"),
+                product("The Art of Cooking", "Hardcover cookbook"),
+                product("Desk lamp", "Wireless charging base")));
+    }
+
+    @AfterEach
+    void clearCatalog() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void nameMatchesAnySubstring() {
+        assertThat(names(new ProductFilter(null, "phone", null, null, null, null, null)))
+                .containsExactlyInAnyOrder("Smartphone X", "Wireless headphones");
+    }
+
+    @Test
+    void nameMatchesStopwords() {
+        assertThat(names(new ProductFilter(null, "the art", null, null, null, null, null)))
+                .containsExactly("The Art of Cooking");
+    }
+
+    @Test
+    void searchMatchesWordPrefixesInNameOrDescription() {
+        assertThat(names(new ProductFilter(null, null, null, null, null, "wireless", null)))
+                .containsExactlyInAnyOrder("Wireless headphones", "Desk lamp");
+        assertThat(names(new ProductFilter(null, null, null, null, null, "wireless head", null)))
+                .containsExactly("Wireless headphones");
+    }
+
+    @Test
+    void searchIgnoresStopwords() {
+        assertThat(names(new ProductFilter(null, null, null, null, null, "the art of cooking", null)))
+                .containsExactly("The Art of Cooking");
+    }
+
+    @Test
+    void searchWithOnlyShortWordsFallsBackToSubstrings() {
+        assertThat(names(new ProductFilter(null, null, null, null, null, "x", null)))
+                .containsExactly("Smartphone X");
+    }
+
+    private List<String> names(ProductFilter filter) {
+        return productRepository.findResponseSlice(buildSpecification(filter), PageRequest.of(0, 20)).stream()
+                .map(ProductResponse::name)
+                .toList();
+    }
+
+    private static Product product(String name, String description) {
+        return Product.builder()
+                .name(name)
+                .description(description)
+                .category(Category.ELECTRONICS)
+                .price(BigDecimal.TEN)
+                .quantity(5)
+                .minQuantity(1)
+                .build();
+    }
+}
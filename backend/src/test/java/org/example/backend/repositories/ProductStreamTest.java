@@ -0,0 +1,80 @@
+package org.example.backend.repositories;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dtos.ProductFilter;
+import org.example.backend.enums.Category;
+import org.example.backend.models.Product;
+import org.example.backend.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.specifications.ProductSpecifications.buildSpecification;
+
+/**
+ * The export stream reads the catalog without filling the second-level cache. Runs without the usual rollback
+ * transaction, since Hibernate does not cache rows loaded by a transaction that has written them.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStreamTest {
+    private static final ProductFilter ALL = new ProductFilter(null, null, null, null, null, null, null);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDb.register(registry, "product_stream_test");
+    }
+
+    @AfterEach
+    void clearCatalog() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void streamedProductsAreNotCached() {
+        Product product = productRepository.save(Product.builder()
+                .name("Desk lamp")
+                .description("Wireless charging base")
+                .category(Category.HOME)
+                .price(new BigDecimal("39.90"))
+                .quantity(5)
+                .minQuantity(2)
+                .build());
+        Cache secondLevelCache = entityManagerFactory.getCache();
+        secondLevelCache.evictAll();
+
+        List<Long> ids = new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<Product> products = productRepository.streamAll(buildSpecification(ALL), Sort.by("id"), 100)) {
+                return products.map(Product::getId).toList();
+            }
+        });
+
+        assertThat(ids).containsExactly(product.getId());
+        assertThat(secondLevelCache.contains(Product.class, product.getId())).isFalse();
+    }
+}
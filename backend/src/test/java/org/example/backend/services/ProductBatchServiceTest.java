@@ -0,0 +1,43 @@
+package org.example.backend.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.example.backend.dtos.BatchItemResult;
+import org.example.backend.dtos.BatchResponse;
+import org.example.backend.enums.BatchItemStatus;
+import org.example.backend.indexes.ProductChangeListener;
+import org.example.backend.mappers.ProductMapper;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductBatchServiceTest {
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ProductChangeListener failingListener = mock(ProductChangeListener.class);
+    private final ProductChangeListener listener = mock(ProductChangeListener.class);
+    private final ProductBatchService batchService = new ProductBatchService(mock(ProductRepository.class),
+            entityManager, mock(PlatformTransactionManager.class), mock(Validator.class), mock(ProductMapper.class),
+            List.of(failingListener, listener), 10);
+
+    @Test
+    void aFailingListenerDoesNotReplayTheCommittedChunk() {
+        doThrow(new IllegalStateException("listener down")).when(failingListener).onCreated(any());
+
+        BatchResponse response = batchService.createAll(List.of(new Product(), new Product()));
+
+        verify(entityManager, times(2)).persist(any());
+        verify(listener, times(2)).onCreated(any());
+        assertThat(response.results()).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.CREATED);
+    }
+}
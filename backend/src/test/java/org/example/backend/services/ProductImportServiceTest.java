@@ -0,0 +1,36 @@
+package org.example.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.example.backend.dtos.ImportReport;
+import org.example.backend.dtos.ImportRowError;
+import org.example.backend.enums.ProductDataFormat;
+import org.example.backend.mappers.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductImportServiceTest {
+    private final ProductImportService importService = new ProductImportService(mock(ProductBatchService.class),
+            mock(Validator.class), mock(ProductMapper.class), new ObjectMapper(), new SimpleAsyncTaskExecutor(),
+            100, 2, 10);
+
+    @Test
+    void anUnterminatedQuoteIsReportedAsARejectedRow() throws IOException {
+        String csv = "name,description,category,price,quantity,minQuantity\n"
+                + "\"Desk lamp,Wireless charging base,HOME,39.90,5,2\n";
+
+        ImportReport report = importService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductDataFormat.CSV);
+
+        assertThat(report.rowsRead()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors()).extracting(ImportRowError::line).containsExactly(2L);
+    }
+}
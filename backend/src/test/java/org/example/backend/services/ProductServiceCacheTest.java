@@ -0,0 +1,59 @@
+package org.example.backend.services;
+
+import org.example.backend.cache.ProductCacheInvalidator;
+import org.example.backend.indexes.InventoryAggregates;
+import org.example.backend.indexes.LowStockIndex;
+import org.example.backend.indexes.ProductCountIndex;
+import org.example.backend.models.Product;
+import org.example.backend.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.backend.config.CacheConfig.PRODUCTS_CACHE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductServiceCacheTest {
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final ProductCacheInvalidator productCacheInvalidator;
+    private final ProductService productService;
+
+    ProductServiceCacheTest() {
+        cacheManager.setAllowNullValues(false);
+        productCacheInvalidator = new ProductCacheInvalidator(cacheManager);
+        productService = new ProductService(productRepository, mock(ProductCountIndex.class),
+                mock(LowStockIndex.class), mock(InventoryAggregates.class), List.of(productCacheInvalidator),
+                mock(PlatformTransactionManager.class), cacheManager, productCacheInvalidator);
+    }
+
+    @Test
+    void anUpdateCachedDuringTheReadIsNotOverwrittenByTheOlderRow() {
+        Product stale = product(1L, 3);
+        Product updated = product(1L, 4);
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            productCacheInvalidator.onUpdated(stale, updated);
+            return Optional.of(stale);
+        });
+
+        assertThat(productService.getProduct(1L).getVersion()).isEqualTo(4);
+        assertThat(cacheManager.getCache(PRODUCTS_CACHE).get(1L, Product.class).getVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void missingProductsAreNotCached() {
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(productService.getProduct(2L)).isNull();
+        assertThat(cacheManager.getCache(PRODUCTS_CACHE).get(2L)).isNull();
+    }
+
+    private static Product product(Long id, long version) {
+        return Product.builder().id(id).version(version).quantity(5).minQuantity(1).build();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.backend.specifications;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSpecificationsTest {
+
+    @Test
+    void everyIndexableWordBecomesARequiredPrefix() {
+        assertThat(ProductSpecifications.toBooleanModeQuery("Wireless Head")).isEqualTo("+wireless* +head*");
+    }
+
+    @Test
+    void punctuationSplitsWordsAndBooleanOperatorsAreDropped() {
+        assertThat(ProductSpecifications.toBooleanModeQuery("usb-c +charger (fast)")).isEqualTo("+usb* +charger* +fast*");
+    }
+
+    @Test
+    void wordsShorterThanTheIndexTokenSizeAreSkipped() {
+        assertThat(ProductSpecifications.toBooleanModeQuery("tv 4k led")).isEqualTo("+led*");
+        assertThat(ProductSpecifications.toBooleanModeQuery("a b")).isNull();
+    }
+
+    @Test
+    void stopwordsAreSkipped() {
+        assertThat(ProductSpecifications.toBooleanModeQuery("The North Face")).isEqualTo("+north* +face*");
+        assertThat(ProductSpecifications.toBooleanModeQuery("for the")).isNull();
+    }
+}
@@ -131,7 +131,7 @@ public class ProductTest {
 
     @When("I send a GET request to retrieve products with name {string}")
     public void iSendAGETRequestToRetrieveProductsWithName(String productName) {
-        ProductFilter productFilter = new ProductFilter(null, productName, null, null, null);
+        ProductFilter productFilter = new ProductFilter(null, productName, null, null, null, null, null);
         response = quantumStockHttpClient.getAllProducts(productFilter);
     }
 
@@ -162,19 +162,19 @@ public class ProductTest {
 
     @When("I send a GET request to retrieve products with category {string}")
     public void iSendAGETRequestToRetrieveProductsWithCategory(String category) {
-        ProductFilter productFilter = new ProductFilter(null, null, category, null, null);
+        ProductFilter productFilter = new ProductFilter(null, null, category, null, null, null, null);
         response = quantumStockHttpClient.getAllProducts(productFilter);
     }
 
     @When("I send a GET request to retrieve products with minPrice {string}")
     public void iSendAGETRequestToRetrieveProductsWithMinPrice(String minPrice) {
-    ProductFilter productFilter = new ProductFilter(null, null, null, new BigDecimal(minPrice), null);
+    ProductFilter productFilter = new ProductFilter(null, null, null, new BigDecimal(minPrice), null, null, null);
         response = quantumStockHttpClient.getAllProducts(productFilter);
     }
 
     @When("I send a GET request to retrieve products with maxPrice {string}")
     public void iSendAGETRequestToRetrieveProductsWithMaxPrice(String maxPrice) {
-        ProductFilter productFilter = new ProductFilter(null, null, null, null, new BigDecimal(maxPrice));
+        ProductFilter productFilter = new ProductFilter(null, null, null, null, new BigDecimal(maxPrice), null, null);
         response = quantumStockHttpClient.getAllProducts(productFilter);
     }
 
@@ -203,7 +203,7 @@ public class ProductTest {
             }
         }
 
-        ProductFilter productFilter = new ProductFilter(null, name, category, minPrice, maxPrice);
+        ProductFilter productFilter = new ProductFilter(null, name, category, minPrice, maxPrice, null, null);
         response = quantumStockHttpClient.getAllProducts(productFilter);
     }
 
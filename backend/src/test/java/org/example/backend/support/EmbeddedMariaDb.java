@@ -0,0 +1,61 @@
+package org.example.backend.support;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import ch.vorburger.exec.ManagedProcessException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * One embedded MariaDB per test JVM, started on first use. Every test class gets a schema of its own, so what it
+ * seeds (and commits) never reaches the shared development database.
+ */
+public final class EmbeddedMariaDb {
+
+    private static DB database;
+    private static int port;
+
+    private EmbeddedMariaDb() {
+    }
+
+    /**
+     * Points the datasource at a fresh {@code schema}. Connections use MySQL's default SQL mode, including
+     * {@code ONLY_FULL_GROUP_BY}, which MariaDB does not enable on its own.
+     */
+    public static void register(DynamicPropertyRegistry registry, String schema) throws ManagedProcessException {
+        start();
+        database.run("DROP DATABASE IF EXISTS " + schema);
+        database.createDB(schema);
+
+        registry.add("spring.datasource.url", () -> "jdbc:mysql://localhost:" + port + "/" + schema
+                + "?sessionVariables=sql_mode='ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ENGINE_SUBSTITUTION'");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        // Connector/J's keyword metadata query fails on MariaDB, so the production dialect is set explicitly
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    private static synchronized void start() throws ManagedProcessException {
+        if (database != null) {
+            return;
+        }
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder()
+                .setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mariadbd refuses to run as root (e.g. in CI containers) unless asked to explicitly
+            builder.addArg("--user=root");
+        }
+        DBConfiguration configuration = builder.build();
+        DB started = DB.newEmbeddedDB(configuration);
+        started.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                started.stop();
+            } catch (ManagedProcessException ignored) {
+                // The JVM is exiting; MariaDB4j removes its data directory either way
+            }
+        }));
+        port = configuration.getPort();
+        database = started;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        assertThat(records("name,description\n\"Lamp, desk\",\"The \"\"bright\"\" one\"\n"))
+                .containsExactly(List.of("name", "description"), List.of("Lamp, desk", "The \"bright\" one"));
+    }
+
+    @Test
+    void crlfEndsARecord() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\r\nc,d\r\n"));
+
+        assertThat(csv.readRecord()).containsExactly("a", "b");
+        assertThat(csv.readRecord()).containsExactly("c", "d");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    void quotedFieldsSpanLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,\"two\r\nlines\"\nb,c"));
+
+        assertThat(csv.readRecord()).containsExactly("a", "two\r\nlines");
+        assertThat(csv.readRecord()).containsExactly("b", "c");
+        assertThat(csv.getRecordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void aLeadingByteOrderMarkIsSkipped() throws IOException {
+        assertThat(records("\uFEFFname,price\nLamp,39.90"))
+                .containsExactly(List.of("name", "price"), List.of("Lamp", "39.90"));
+    }
+
+    @Test
+    void anUnterminatedQuoteIsAMalformedRecord() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\n\"open,c\nd,e\n"));
+        csv.readRecord();
+
+        assertThatThrownBy(csv::readRecord)
+                .isInstanceOfSatisfying(CsvReader.MalformedRecordException.class,
+                        e -> assertThat(e.getLine()).isEqualTo(2));
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}